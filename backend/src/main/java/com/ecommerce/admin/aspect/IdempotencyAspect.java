@@ -0,0 +1,146 @@
+package com.ecommerce.admin.aspect;
+
+import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.security.SecurityUser;
+import com.ecommerce.admin.service.IdempotencyService;
+import com.ecommerce.admin.service.IdempotencyService.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Makes controller methods annotated with {@link Idempotent} safe to retry.
+ * Requests without an Idempotency-Key header are passed through unchanged.
+ * Runs outermost so a replayed response is not logged as a second admin activity.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Idempotent {
+    }
+
+    @Around("@annotation(com.ecommerce.admin.aspect.IdempotencyAspect.Idempotent)")
+    public Object handleIdempotentRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = getCurrentHttpRequest();
+        String key = request != null ? request.getHeader(IDEMPOTENCY_KEY_HEADER) : null;
+        if (key == null || key.isBlank()) {
+            return joinPoint.proceed();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopeKey = getAdminScope() + ":" + key.trim();
+        String fingerprint = fingerprint(request, joinPoint.getArgs());
+
+        AtomicReference<Object> executed = new AtomicReference<>();
+        StoredResponse stored = idempotencyService.execute(scopeKey, fingerprint, () -> {
+            Object result;
+            try {
+                result = joinPoint.proceed();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+            executed.set(result);
+            return toStoredResponse(result, fingerprint);
+        });
+
+        Object result = executed.get();
+        if (result != null) {
+            return result;
+        }
+
+        return ResponseEntity.status(stored.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.getBody() != null ? objectMapper.readValue(stored.getBody(), ApiResponse.class) : null);
+    }
+
+    private StoredResponse toStoredResponse(Object result, String fingerprint) throws Exception {
+        int status = 200;
+        Object body = result;
+        if (result instanceof ResponseEntity<?> entity) {
+            status = entity.getStatusCode().value();
+            body = entity.getBody();
+        }
+        return new StoredResponse(
+                fingerprint,
+                status,
+                body != null ? objectMapper.writeValueAsString(body) : null,
+                LocalDateTime.now());
+    }
+
+    private String fingerprint(HttpServletRequest request, Object[] args) throws Exception {
+        StringBuilder source = new StringBuilder()
+                .append(request.getMethod()).append(' ')
+                .append(request.getRequestURI());
+        for (Object arg : args) {
+            if (arg instanceof SecurityUser || arg instanceof HttpServletRequest) {
+                continue;
+            }
+            source.append('\n').append(objectMapper.writeValueAsString(arg));
+        }
+        return sha256(source.toString());
+    }
+
+    private String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String getAdminScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof SecurityUser user) {
+            return String.valueOf(user.getId());
+        }
+        return "anonymous";
+    }
+
+    private HttpServletRequest getCurrentHttpRequest() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getRequest() : null;
+    }
+}
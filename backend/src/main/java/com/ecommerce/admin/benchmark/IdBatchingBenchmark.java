@@ -0,0 +1,95 @@
+package com.ecommerce.admin.benchmark;
+
+import com.ecommerce.admin.model.Notification;
+import com.ecommerce.admin.model.enums.NotificationType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Startup benchmark for batched inserts with table-generated ids, enabled with
+ * app.benchmarks.id-batching.enabled=true.
+ *
+ * Persists notifications through Hibernate in rolled-back transactions and
+ * reports how many INSERT statements MySQL actually executed (the session's
+ * Com_insert counter). With JDBC batching and rewriteBatchedStatements a batch
+ * of rows arrives as one multi-row INSERT; with IDENTITY ids every row is its
+ * own statement.
+ */
+@Component
+@ConditionalOnProperty(name = "app.benchmarks.id-batching.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class IdBatchingBenchmark implements ApplicationRunner {
+
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.benchmarks.id-batching.rows:10000}")
+    private int rows;
+
+    @Value("${app.benchmarks.id-batching.rounds:3}")
+    private int rounds;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:20}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Id batching benchmark: {} rows per round, {} rounds, batch size {}", rows, rounds, batchSize);
+
+        // The first round warms up the connection, the id blocks and the JIT and is not reported
+        for (int round = 0; round <= rounds; round++) {
+            boolean warmup = round == 0;
+            int currentRound = round;
+            transactionTemplate.executeWithoutResult(status -> {
+                long insertsBefore = insertStatementCount();
+                long start = System.nanoTime();
+
+                for (int i = 0; i < rows; i++) {
+                    entityManager.persist(Notification.builder()
+                            .userId(0L)
+                            .type(NotificationType.NEW_ORDER)
+                            .title("Benchmark")
+                            .message("Id batching benchmark row " + i)
+                            .isRead(false)
+                            .build());
+                    if ((i + 1) % batchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                long statements = insertStatementCount() - insertsBefore;
+                status.setRollbackOnly();
+
+                if (!warmup) {
+                    log.info("Round {}: {} rows in {} INSERT statements ({} rows/statement), {}ms, {} rows/s",
+                            currentRound, rows, statements,
+                            statements > 0 ? rows / statements : 0,
+                            elapsedMs, elapsedMs > 0 ? rows * 1000L / elapsedMs : rows);
+                }
+            });
+        }
+    }
+
+    // Runs on the transaction's connection, so it counts exactly the inserts above
+    private long insertStatementCount() {
+        return jdbcTemplate.query("SHOW SESSION STATUS LIKE 'Com_insert'",
+                rs -> rs.next() ? rs.getLong(2) : 0L);
+    }
+}
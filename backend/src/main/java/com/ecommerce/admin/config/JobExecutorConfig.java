@@ -0,0 +1,28 @@
+package com.ecommerce.admin.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for long-running admin jobs, so they run off request threads and
+ * a burst of them queues instead of competing for the connection pool.
+ */
+@Configuration
+public class JobExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor jobExecutor(
+            @Value("${app.jobs.pool-size:2}") int poolSize,
+            @Value("${app.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
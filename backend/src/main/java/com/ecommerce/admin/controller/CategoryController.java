@@ -2,6 +2,8 @@ package com.ecommerce.admin.controller;
 
 import com.ecommerce.admin.aspect.AdminActivityAspect.LogActivity;
 import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.dto.response.CategoryCountResponse;
+import com.ecommerce.admin.dto.response.CategoryResponse;
 import com.ecommerce.admin.model.Category;
 import com.ecommerce.admin.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,15 +28,15 @@ public class CategoryController {
 
     @GetMapping
     @Operation(summary = "Get all categories", description = "Retrieve a list of all product categories")
-    public ResponseEntity<List<Category>> getAllCategories() {
-        List<Category> categories = categoryService.getAllCategories();
+    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
+        List<CategoryResponse> categories = categoryService.getAllCategories();
         return ResponseEntity.ok(categories);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Retrieve a specific category by its ID")
-    public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
-        Category category = categoryService.getCategoryById(id);
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
+        CategoryResponse category = categoryService.getCategory(id);
         return ResponseEntity.ok(category);
     }
 
@@ -42,7 +44,7 @@ public class CategoryController {
     @LogActivity(action = "CREATE_CATEGORY", resourceType = "CATEGORY")
     @Operation(summary = "Create new category", description = "Create a new product category")
     public ResponseEntity<ApiResponse> createCategory(@Valid @RequestBody Category category) {
-        Category created = categoryService.createCategory(category);
+        CategoryResponse created = categoryService.createCategory(category);
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(ApiResponse.success("Category created successfully", created));
     }
@@ -53,7 +55,7 @@ public class CategoryController {
     public ResponseEntity<ApiResponse> updateCategory(
             @PathVariable Long id,
             @Valid @RequestBody Category category) {
-        Category updated = categoryService.updateCategory(id, category);
+        CategoryResponse updated = categoryService.updateCategory(id, category);
         return ResponseEntity.ok(ApiResponse.success("Category updated successfully", updated));
     }
 
@@ -72,10 +74,17 @@ public class CategoryController {
         return ResponseEntity.ok(ApiResponse.success("Product count retrieved successfully", count));
     }
 
+    @GetMapping("/with-counts")
+    @Operation(summary = "Get categories with product counts", description = "Retrieve all categories with their total and active product counts")
+    public ResponseEntity<ApiResponse> getCategoriesWithCounts() {
+        List<CategoryCountResponse> categories = categoryService.getCategoriesWithCounts();
+        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+    }
+
     @GetMapping("/active")
     @Operation(summary = "Get active categories", description = "Retrieve all active product categories")
-    public ResponseEntity<List<Category>> getActiveCategories() {
-        List<Category> categories = categoryService.getActiveCategories();
+    public ResponseEntity<List<CategoryResponse>> getActiveCategories() {
+        List<CategoryResponse> categories = categoryService.getActiveCategories();
         return ResponseEntity.ok(categories);
     }
 }
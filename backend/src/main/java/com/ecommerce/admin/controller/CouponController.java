@@ -1,8 +1,15 @@
 package com.ecommerce.admin.controller;
 
 import com.ecommerce.admin.dto.request.CouponCreateRequest;
+import com.ecommerce.admin.dto.request.CouponGenerationRequest;
+import com.ecommerce.admin.dto.request.CouponRedemptionRequest;
 import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.dto.response.CouponGenerationJobResponse;
+import com.ecommerce.admin.dto.response.CouponRedemptionResponse;
 import com.ecommerce.admin.dto.response.CouponResponse;
+import com.ecommerce.admin.dto.response.CouponValidationResponse;
+import com.ecommerce.admin.dto.response.PageResponse;
+import com.ecommerce.admin.service.CouponGenerationService;
 import com.ecommerce.admin.service.CouponService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.math.BigDecimal;
 
 @RestController
 @RequestMapping("/admin/coupons")
@@ -22,14 +29,35 @@ import java.util.List;
 public class CouponController {
     
     private final CouponService couponService;
+    private final CouponGenerationService couponGenerationService;
     
     @GetMapping
-    public ResponseEntity<ApiResponse> getCoupons() {
-        log.info("Fetching all coupons");
-        List<CouponResponse> coupons = couponService.getCoupons();
+    public ResponseEntity<ApiResponse> getCoupons(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching coupons with search={}, isActive={}, page={}, size={}", search, isActive, page, size);
+        PageResponse<CouponResponse> coupons = couponService.getCoupons(search, isActive, page, size);
         return ResponseEntity.ok(ApiResponse.success("Coupons retrieved successfully", coupons));
     }
     
+    @GetMapping("/validate")
+    public ResponseEntity<ApiResponse> validateCoupon(
+            @RequestParam String code,
+            @RequestParam BigDecimal orderTotal) {
+        log.debug("Validating coupon: {}", code);
+        CouponValidationResponse validation = couponService.validateCoupon(code, orderTotal);
+        return ResponseEntity.ok(ApiResponse.success(validation.getMessage(), validation));
+    }
+    
+    @PostMapping("/redeem")
+    public ResponseEntity<ApiResponse> redeemCoupon(@Valid @RequestBody CouponRedemptionRequest request) {
+        log.info("Redeeming coupon: {}", request.getCode());
+        CouponRedemptionResponse redemption = couponService.redeemCoupon(request);
+        return ResponseEntity.ok(ApiResponse.success("Coupon redeemed successfully", redemption));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getCoupon(@PathVariable Long id) {
         log.info("Fetching coupon with id: {}", id);
@@ -45,6 +73,21 @@ public class CouponController {
                 .body(ApiResponse.success("Coupon created successfully", coupon));
     }
     
+    @PostMapping("/generate")
+    public ResponseEntity<ApiResponse> generateCoupons(@Valid @RequestBody CouponGenerationRequest request) {
+        log.info("Generating {} coupons", request.getCount());
+        CouponGenerationJobResponse job = couponGenerationService.startGeneration(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Coupon generation started", job));
+    }
+    
+    @GetMapping("/generation-jobs/{jobId}")
+    public ResponseEntity<ApiResponse> getGenerationJob(@PathVariable String jobId) {
+        log.info("Fetching coupon generation job: {}", jobId);
+        CouponGenerationJobResponse job = couponGenerationService.getJob(jobId);
+        return ResponseEntity.ok(ApiResponse.success("Coupon generation job retrieved successfully", job));
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse> updateCoupon(
             @PathVariable Long id,
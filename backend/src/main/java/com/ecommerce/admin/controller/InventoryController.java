@@ -1,11 +1,21 @@
 package com.ecommerce.admin.controller;
 
+import com.ecommerce.admin.aspect.IdempotencyAspect.Idempotent;
+import com.ecommerce.admin.dto.request.BulkStockAdjustmentRequest;
+import com.ecommerce.admin.dto.request.StockReservationRequest;
 import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.dto.response.BulkStockAdjustmentResponse;
 import com.ecommerce.admin.dto.response.PageResponse;
 import com.ecommerce.admin.dto.response.ProductResponse;
+import com.ecommerce.admin.dto.response.StockAvailabilityResponse;
+import com.ecommerce.admin.dto.response.StockReservationResponse;
+import com.ecommerce.admin.service.InventoryService;
 import com.ecommerce.admin.service.ProductService;
+import com.ecommerce.admin.service.StockReservationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +30,8 @@ import java.util.List;
 public class InventoryController {
     
     private final ProductService productService;
+    private final InventoryService inventoryService;
+    private final StockReservationService stockReservationService;
     
     @GetMapping
     public ResponseEntity<ApiResponse> getInventory(
@@ -39,4 +51,51 @@ public class InventoryController {
         List<ProductResponse> lowStockProducts = productService.getLowStockProducts();
         return ResponseEntity.ok(ApiResponse.success("Low stock products retrieved successfully", lowStockProducts));
     }
+    
+    @PostMapping("/stock-adjustments")
+    @Idempotent
+    public ResponseEntity<ApiResponse> applyBulkAdjustments(@Valid @RequestBody BulkStockAdjustmentRequest request) {
+        log.info("Applying {} bulk stock adjustments, allOrNothing={}", 
+                request.getAdjustments().size(), request.getAllOrNothing());
+        BulkStockAdjustmentResponse result = inventoryService.applyBulk(request);
+        return ResponseEntity.ok(ApiResponse.success("Stock adjustments processed", result));
+    }
+    
+    @GetMapping("/{productId}/availability")
+    public ResponseEntity<ApiResponse> getAvailability(@PathVariable Long productId) {
+        log.info("Fetching available stock for product {}", productId);
+        StockAvailabilityResponse availability = stockReservationService.getAvailability(productId);
+        return ResponseEntity.ok(ApiResponse.success("Stock availability retrieved successfully", availability));
+    }
+    
+    @PostMapping("/reservations")
+    @Idempotent
+    public ResponseEntity<ApiResponse> reserveStock(@Valid @RequestBody StockReservationRequest request) {
+        log.info("Reserving {} units of product {}", request.getQuantity(), request.getProductId());
+        StockReservationResponse reservation = stockReservationService.reserve(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Stock reserved successfully", reservation));
+    }
+    
+    @GetMapping("/reservations/{id}")
+    public ResponseEntity<ApiResponse> getReservation(@PathVariable String id) {
+        log.info("Fetching reservation {}", id);
+        StockReservationResponse reservation = stockReservationService.getReservation(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation retrieved successfully", reservation));
+    }
+    
+    @PostMapping("/reservations/{id}/confirm")
+    @Idempotent
+    public ResponseEntity<ApiResponse> confirmReservation(@PathVariable String id) {
+        log.info("Confirming reservation {}", id);
+        StockReservationResponse reservation = stockReservationService.confirm(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation confirmed successfully", reservation));
+    }
+    
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<ApiResponse> releaseReservation(@PathVariable String id) {
+        log.info("Releasing reservation {}", id);
+        StockReservationResponse reservation = stockReservationService.release(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation released successfully", reservation));
+    }
 }
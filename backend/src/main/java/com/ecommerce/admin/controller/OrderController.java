@@ -1,5 +1,6 @@
 package com.ecommerce.admin.controller;
 
+import com.ecommerce.admin.aspect.IdempotencyAspect.Idempotent;
 import com.ecommerce.admin.dto.request.OrderStatusUpdateRequest;
 import com.ecommerce.admin.dto.request.RefundRequest;
 import com.ecommerce.admin.dto.response.ApiResponse;
@@ -45,6 +46,7 @@ public class OrderController {
     }
     
     @PutMapping("/{id}/status")
+    @Idempotent
     public ResponseEntity<ApiResponse> updateOrderStatus(
             @PathVariable Long id,
             @Valid @RequestBody OrderStatusUpdateRequest request,
@@ -55,6 +57,7 @@ public class OrderController {
     }
     
     @PostMapping("/{id}/refund")
+    @Idempotent
     public ResponseEntity<ApiResponse> processRefund(
             @PathVariable Long id,
             @Valid @RequestBody RefundRequest request,
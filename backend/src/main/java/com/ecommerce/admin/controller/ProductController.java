@@ -1,19 +1,29 @@
 package com.ecommerce.admin.controller;
 
+import com.ecommerce.admin.aspect.IdempotencyAspect.Idempotent;
 import com.ecommerce.admin.dto.request.ProductCreateRequest;
 import com.ecommerce.admin.dto.request.ProductUpdateRequest;
 import com.ecommerce.admin.dto.request.StockAdjustmentRequest;
 import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.dto.response.FacetedProductResponse;
 import com.ecommerce.admin.dto.response.PageResponse;
+import com.ecommerce.admin.dto.response.ProductDetailResponse;
+import com.ecommerce.admin.dto.response.ProductImportResponse;
 import com.ecommerce.admin.dto.response.ProductResponse;
+import com.ecommerce.admin.service.ProductDetailService;
+import com.ecommerce.admin.service.ProductImportService;
 import com.ecommerce.admin.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/admin/products")
@@ -23,6 +33,8 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
     
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductDetailService productDetailService;
     
     @GetMapping
     public ResponseEntity<ApiResponse> getProducts(
@@ -37,6 +49,19 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
     }
     
+    @GetMapping("/faceted")
+    public ResponseEntity<ApiResponse> getProductsWithFacets(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching faceted products with categoryId={}, search={}, inStock={}, page={}, size={}", 
+                categoryId, search, inStock, page, size);
+        FacetedProductResponse products = productService.getProductsWithFacets(categoryId, search, inStock, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse> getProduct(@PathVariable Long id) {
         log.info("Fetching product with id: {}", id);
@@ -44,6 +69,20 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product retrieved successfully", product));
     }
     
+    @GetMapping("/{id}/details")
+    public ResponseEntity<ApiResponse> getProductDetail(@PathVariable Long id) {
+        log.info("Fetching product details with id: {}", id);
+        ProductDetailResponse detail = productDetailService.getProductDetail(id);
+        return ResponseEntity.ok(ApiResponse.success("Product details retrieved successfully", detail));
+    }
+    
+    @GetMapping("/details")
+    public ResponseEntity<ApiResponse> getProductDetails(@RequestParam List<Long> ids) {
+        log.info("Fetching product details for {} ids", ids.size());
+        List<ProductDetailResponse> details = productDetailService.getProductDetails(ids);
+        return ResponseEntity.ok(ApiResponse.success("Product details retrieved successfully", details));
+    }
+    
     @PostMapping
     public ResponseEntity<ApiResponse> createProduct(@Valid @RequestBody ProductCreateRequest request) {
         log.info("Creating new product: {}", request.getName());
@@ -68,7 +107,17 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product deleted successfully"));
     }
     
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse> importProducts(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format) {
+        log.info("Importing products from file: {}, size={} bytes", file.getOriginalFilename(), file.getSize());
+        ProductImportResponse result = productImportService.importProducts(file, format);
+        return ResponseEntity.ok(ApiResponse.success("Product import completed", result));
+    }
+    
     @PutMapping("/{id}/stock")
+    @Idempotent
     public ResponseEntity<ApiResponse> adjustStock(
             @PathVariable Long id,
             @Valid @RequestBody StockAdjustmentRequest request) {
@@ -43,6 +43,16 @@ public class ReportController {
         return ResponseEntity.ok(ApiResponse.success("Top products retrieved successfully", topProducts));
     }
     
+    @GetMapping("/coupons")
+    public ResponseEntity<ApiResponse> getCouponAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Generating coupon analytics from {} to {}, top {}", startDate, endDate, limit);
+        var analytics = reportService.getCouponAnalytics(startDate, endDate, limit);
+        return ResponseEntity.ok(ApiResponse.success("Coupon analytics generated successfully", analytics));
+    }
+    
     @GetMapping("/activity-logs")
     public ResponseEntity<ApiResponse> getActivityLogs(
             @RequestParam(defaultValue = "0") int page,
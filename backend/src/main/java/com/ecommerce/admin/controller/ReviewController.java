@@ -0,0 +1,58 @@
+package com.ecommerce.admin.controller;
+
+import com.ecommerce.admin.aspect.AdminActivityAspect.LogActivity;
+import com.ecommerce.admin.dto.request.ReviewModerationRequest;
+import com.ecommerce.admin.dto.request.ReviewUpdateRequest;
+import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.dto.response.ProductDetailResponse;
+import com.ecommerce.admin.dto.response.ReviewModerationResponse;
+import com.ecommerce.admin.service.ReviewService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/reviews")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReviewController {
+    
+    private final ReviewService reviewService;
+    
+    @PostMapping("/moderation")
+    @LogActivity(action = "MODERATE_REVIEWS", resourceType = "REVIEW")
+    public ResponseEntity<ApiResponse> moderateReviews(@Valid @RequestBody ReviewModerationRequest request) {
+        log.info("Moderating {} reviews, approved={}", request.getReviewIds().size(), request.getApproved());
+        ReviewModerationResponse result = reviewService.moderate(request);
+        return ResponseEntity.ok(ApiResponse.success("Reviews moderated successfully", result));
+    }
+    
+    @PutMapping("/{id}")
+    @LogActivity(action = "UPDATE_REVIEW", resourceType = "REVIEW")
+    public ResponseEntity<ApiResponse> updateReview(
+            @PathVariable Long id,
+            @Valid @RequestBody ReviewUpdateRequest request) {
+        log.info("Updating review {}", id);
+        ProductDetailResponse.Review review = reviewService.updateReview(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Review updated successfully", review));
+    }
+    
+    @DeleteMapping("/{id}")
+    @LogActivity(action = "DELETE_REVIEW", resourceType = "REVIEW")
+    public ResponseEntity<ApiResponse> deleteReview(@PathVariable Long id) {
+        log.info("Deleting review {}", id);
+        reviewService.deleteReview(id);
+        return ResponseEntity.ok(ApiResponse.success("Review deleted successfully"));
+    }
+    
+    @PostMapping("/ratings/reconcile")
+    public ResponseEntity<ApiResponse> reconcileRatings() {
+        log.info("Reconciling product ratings");
+        int corrected = reviewService.reconcileRatings();
+        return ResponseEntity.ok(ApiResponse.success("Product ratings reconciled", corrected));
+    }
+}
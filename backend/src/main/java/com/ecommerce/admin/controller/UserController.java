@@ -1,6 +1,7 @@
 package com.ecommerce.admin.controller;
 
 import com.ecommerce.admin.dto.response.ApiResponse;
+import com.ecommerce.admin.dto.response.CursorPageResponse;
 import com.ecommerce.admin.dto.response.OrderResponse;
 import com.ecommerce.admin.dto.response.PageResponse;
 import com.ecommerce.admin.dto.response.UserResponse;
@@ -11,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -52,9 +52,12 @@ public class UserController {
     }
     
     @GetMapping("/{id}/orders")
-    public ResponseEntity<ApiResponse> getUserOrders(@PathVariable Long id) {
-        log.info("Fetching orders for user: {}", id);
-        List<OrderResponse> orders = userService.getUserOrders(id);
+    public ResponseEntity<ApiResponse> getUserOrders(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching orders for user: {}, cursor={}, size={}", id, cursor, size);
+        CursorPageResponse<OrderResponse> orders = userService.getUserOrders(id, cursor, size);
         return ResponseEntity.ok(ApiResponse.success("User orders retrieved successfully", orders));
     }
 }
@@ -0,0 +1,37 @@
+package com.ecommerce.admin.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockAdjustmentRequest {
+    
+    @NotEmpty(message = "At least one adjustment is required")
+    @Size(max = 5000, message = "At most 5000 adjustments per request")
+    private List<@Valid SkuDelta> adjustments;
+    
+    // Roll back every adjustment when any of them cannot be applied
+    private Boolean allOrNothing = false;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SkuDelta {
+        
+        @NotBlank(message = "SKU is required")
+        private String sku;
+        
+        @NotNull(message = "Delta is required")
+        private Integer delta;
+    }
+}
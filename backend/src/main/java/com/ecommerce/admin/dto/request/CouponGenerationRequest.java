@@ -0,0 +1,56 @@
+package com.ecommerce.admin.dto.request;
+
+import com.ecommerce.admin.model.enums.CouponType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponGenerationRequest {
+    
+    @NotNull(message = "Count is required")
+    @Positive(message = "Count must be positive")
+    @Max(value = 1_000_000, message = "Count cannot exceed 1000000")
+    private Integer count;
+    
+    @Pattern(regexp = "[A-Za-z0-9]*", message = "Prefix must contain only letters and numbers")
+    @Size(max = 10, message = "Prefix must not exceed 10 characters")
+    private String prefix;
+    
+    @Min(value = 4, message = "Length must be at least 4")
+    @Max(value = 20, message = "Length cannot exceed 20")
+    private Integer length;
+    
+    @Pattern(regexp = "[A-Z0-9]*", message = "Alphabet must contain only uppercase letters and numbers")
+    private String alphabet;
+    
+    @NotNull(message = "Coupon type is required")
+    private CouponType type;
+    
+    @NotNull(message = "Value is required")
+    @Positive(message = "Value must be positive")
+    private BigDecimal value;
+    
+    private BigDecimal minPurchase;
+    
+    private BigDecimal maxDiscount;
+    
+    @Positive(message = "Usage limit must be positive")
+    private Integer usageLimit;
+    
+    @NotNull(message = "Expiration date is required")
+    private LocalDateTime expiresAt;
+    
+    private Boolean isActive = true;
+}
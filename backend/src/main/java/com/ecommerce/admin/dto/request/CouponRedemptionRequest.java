@@ -0,0 +1,23 @@
+package com.ecommerce.admin.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemptionRequest {
+    
+    @NotBlank(message = "Coupon code is required")
+    private String code;
+    
+    @NotNull(message = "Order total is required")
+    @PositiveOrZero(message = "Order total cannot be negative")
+    private BigDecimal orderTotal;
+}
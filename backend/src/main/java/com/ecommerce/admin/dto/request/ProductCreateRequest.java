@@ -3,6 +3,7 @@ package com.ecommerce.admin.dto.request;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -34,6 +35,9 @@ public class ProductCreateRequest {
     @NotNull(message = "Stock quantity is required")
     private Integer stockQuantity;
     
+    @PositiveOrZero(message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
+    
     private String thumbnail;
     
     private Boolean isActive = true;
@@ -1,5 +1,6 @@
 package com.ecommerce.admin.dto.request;
 
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +18,8 @@ public class ProductUpdateRequest {
     private BigDecimal discountPrice;
     private Long categoryId;
     private Integer stockQuantity;
+    @PositiveOrZero(message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
     private String thumbnail;
     private Boolean isActive;
     private String metaDescription;
@@ -0,0 +1,23 @@
+package com.ecommerce.admin.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewModerationRequest {
+    
+    @NotEmpty(message = "At least one review ID is required")
+    @Size(max = 1000, message = "Cannot moderate more than 1000 reviews at once")
+    private List<Long> reviewIds;
+    
+    @NotNull(message = "Approved flag is required")
+    private Boolean approved;
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockAdjustmentResponse {
+    
+    private int applied;
+    private int failed;
+    private boolean rolledBack;
+    private List<Result> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private String sku;
+        private Long productId;
+        private int delta;
+        private Integer stockQuantity;
+        private boolean success;
+        private String message;
+    }
+}
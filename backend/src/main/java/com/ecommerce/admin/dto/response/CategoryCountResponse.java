@@ -0,0 +1,20 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryCountResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String image;
+    private long productCount;
+    private long activeProductCount;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a category, safe to share from the category cache.
+ */
+@Getter
+@Builder
+public class CategoryResponse {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String image;
+    private final String itemCount;
+    private final Integer lowStockThreshold;
+    private final String skuPrefix;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+}
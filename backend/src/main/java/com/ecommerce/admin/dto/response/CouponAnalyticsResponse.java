@@ -0,0 +1,41 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponAnalyticsResponse {
+    
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private long totalOrders;
+    private long couponOrders;
+    private double couponOrderRate;
+    private long couponsUsed;
+    private BigDecimal totalDiscount;
+    private BigDecimal averageOrderValueWithCoupon;
+    private BigDecimal averageOrderValueWithoutCoupon;
+    private List<CouponUsage> topCoupons;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CouponUsage {
+        private String couponCode;
+        private long redemptions;
+        private BigDecimal totalDiscount;
+        private BigDecimal revenue;
+        private BigDecimal averageOrderValue;
+        private BigDecimal averageDiscount;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.admin.dto.response;
+
+import com.ecommerce.admin.model.enums.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponGenerationJobResponse {
+    
+    private String jobId;
+    private JobStatus status;
+    private String prefix;
+    private int requested;
+    private long inserted;
+    private long collisions;
+    private double percentComplete;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
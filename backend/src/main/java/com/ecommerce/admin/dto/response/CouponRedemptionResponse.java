@@ -0,0 +1,22 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponRedemptionResponse {
+    
+    private Long couponId;
+    private String couponCode;
+    private BigDecimal orderTotal;
+    private BigDecimal discountAmount;
+    private LocalDateTime redeemedAt;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CouponValidationResponse {
+    private Boolean valid;
+    private BigDecimal discountAmount;
+    private String couponCode;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedProductResponse {
+    
+    private PageResponse<ProductResponse> products;
+    private ProductFacetsResponse facets;
+}
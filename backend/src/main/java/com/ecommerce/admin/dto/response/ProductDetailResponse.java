@@ -0,0 +1,37 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDetailResponse {
+    
+    private ProductResponse product;
+    private List<String> images;
+    private List<String> sizes;
+    private List<String> features;
+    private List<Review> reviews;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Review {
+        private Long id;
+        private Long userId;
+        private String userName;
+        private Integer rating;
+        private String reviewText;
+        private Boolean isVerifiedPurchase;
+        private Boolean isApproved;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+    
+    private List<CategoryFacet> categories;
+    private long inStock;
+    private long outOfStock;
+    private long total;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacet {
+        private Long categoryId;
+        private String categoryName;
+        private long count;
+    }
+}
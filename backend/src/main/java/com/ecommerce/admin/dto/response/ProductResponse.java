@@ -9,7 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductResponse {
@@ -25,6 +25,9 @@ public class ProductResponse {
     private String categoryName;
     
     private Integer stockQuantity;
+    private Integer reservedQuantity;
+    private Integer availableQuantity;
+    private Integer lowStockThreshold;
     private Boolean inStock;
     private String thumbnail;
     private Boolean isActive;
@@ -0,0 +1,19 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewModerationResponse {
+    
+    private int requested;
+    private int updated;
+    private int unchanged;
+    private int notFound;
+    private int productsAffected;
+}
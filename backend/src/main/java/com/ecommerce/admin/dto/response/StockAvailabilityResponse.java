@@ -0,0 +1,18 @@
+package com.ecommerce.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityResponse {
+    
+    private Long productId;
+    private int stockQuantity;
+    private int reservedQuantity;
+    private int availableQuantity;
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.admin.dto.response;
+
+import com.ecommerce.admin.model.enums.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+    
+    private String id;
+    private Long productId;
+    private int quantity;
+    private String reference;
+    private ReservationStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
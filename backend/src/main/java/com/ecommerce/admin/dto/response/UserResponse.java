@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -24,5 +25,8 @@ public class UserResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt; 
     private Long totalOrders;
-    private Long totalSpent;
+    private BigDecimal totalSpent;
+    private BigDecimal averageOrderValue;
+    private LocalDateTime firstOrderDate;
+    private LocalDateTime lastOrderDate;
 }
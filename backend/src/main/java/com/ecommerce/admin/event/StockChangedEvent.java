@@ -0,0 +1,24 @@
+package com.ecommerce.admin.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published inside the transaction that changed a product's stock quantity.
+ * Listeners that must only see committed changes use
+ * {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StockChangedEvent {
+    
+    private final Long productId;
+    private final int delta;
+    private final int newQuantity;
+    
+    public int getPreviousQuantity() {
+        return newQuantity - delta;
+    }
+}
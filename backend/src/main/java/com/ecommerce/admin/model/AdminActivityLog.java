@@ -15,7 +15,10 @@ import java.time.LocalDateTime;
 public class AdminActivityLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.ADMIN_ACTIVITY_LOGS)
+    @TableGenerator(name = IdGenerators.ADMIN_ACTIVITY_LOGS, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.ADMIN_ACTIVITY_LOGS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "admin_id", nullable = false)
@@ -0,0 +1,98 @@
+package com.ecommerce.admin.model;
+
+import com.ecommerce.admin.model.enums.OrderStatus;
+import com.ecommerce.admin.model.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closed order moved out of the hot orders table by OrderArchiveService.
+ * Rows keep their original ids and are never modified after archival.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_created", columnList = "created_at"),
+    @Index(name = "idx_orders_archive_user_created", columnList = "user_id, created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@NamedEntityGraph(
+    name = "ArchivedOrder.withDetails",
+    attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("shippingAddress")
+    }
+)
+public class ArchivedOrder {
+    
+    @Id
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User user;
+    
+    @Column(name = "order_number", nullable = false, length = 50)
+    private String orderNumber;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private PaymentMethod paymentMethod;
+    
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    @BatchSize(size = 10)
+    @Builder.Default
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shipping_address_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Address shippingAddress;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotal;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal shipping;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal discount;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal total;
+    
+    @Column(name = "coupon_code", length = 50)
+    private String couponCode;
+    
+    @Column(name = "order_date")
+    private LocalDateTime orderDate;
+    
+    @Column(name = "delivered_date")
+    private LocalDateTime deliveredDate;
+    
+    @Column(length = 1000)
+    private String notes;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
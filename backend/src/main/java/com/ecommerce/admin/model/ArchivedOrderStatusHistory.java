@@ -0,0 +1,44 @@
+package com.ecommerce.admin.model;
+
+import com.ecommerce.admin.model.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@Table(name = "order_status_history_archive", indexes = {
+    @Index(name = "idx_order_status_history_archive_order", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedOrderStatusHistory {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status")
+    private OrderStatus oldStatus;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private OrderStatus newStatus;
+    
+    @Column(name = "changed_by", nullable = false)
+    private Long changedBy;
+    
+    @Column(length = 500)
+    private String notes;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
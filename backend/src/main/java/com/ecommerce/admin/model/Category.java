@@ -30,6 +30,17 @@ public class Category {
     @Column(name = "item_count", length = 20)
     private String itemCount;
     
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+    
+    // Prefix of generated SKUs; app.products.sku.default-prefix when not set
+    @Column(name = "sku_prefix", length = 10)
+    private String skuPrefix;
+    
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = true;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
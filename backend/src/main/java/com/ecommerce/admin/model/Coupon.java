@@ -8,7 +8,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "coupons")
+@Table(name = "coupons", indexes = {
+    @Index(name = "idx_coupons_active_expires", columnList = "is_active, expires_at"),
+    @Index(name = "idx_coupons_updated", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,7 +42,8 @@ public class Coupon {
     @Column(name = "usage_limit", nullable = false)
     private Integer usageLimit;
     
-    @Column(name = "usage_count")
+    // Written only by CouponUsageTokens' conditional updates, so saving a loaded coupon never restores a stale count
+    @Column(name = "usage_count", updatable = false)
     private Integer usageCount = 0;
     
     @Column(name = "expires_at", nullable = false)
@@ -0,0 +1,49 @@
+package com.ecommerce.admin.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated order statistics per customer, so the user detail view
+ * does not have to load every order to show totals.
+ */
+@Entity
+@Table(name = "customer_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerStats {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+    
+    @Column(name = "total_spent", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSpent;
+    
+    @Column(name = "average_order_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal averageOrderValue;
+    
+    @Column(name = "first_order_date")
+    private LocalDateTime firstOrderDate;
+    
+    @Column(name = "last_order_date")
+    private LocalDateTime lastOrderDate;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
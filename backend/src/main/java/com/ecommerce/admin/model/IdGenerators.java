@@ -0,0 +1,39 @@
+package com.ecommerce.admin.model;
+
+import java.util.Map;
+
+/**
+ * Shared settings of the table-based id generators.
+ *
+ * MySQL has no sequences, and IDENTITY ids make Hibernate insert rows one at
+ * a time. High-insert entities instead take ids in blocks from a row of
+ * id_generators. With the pooled-lo optimizer the stored value is the first
+ * id of the next free block, so JDBC writers can reserve blocks from the
+ * same row through IdBlockAllocator.
+ */
+public final class IdGenerators {
+    
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+    
+    public static final String PRODUCTS = "products";
+    public static final String ORDER_ITEMS = "order_items";
+    public static final String ORDER_STATUS_HISTORY = "order_status_history";
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String ADMIN_ACTIVITY_LOGS = "admin_activity_logs";
+    
+    /**
+     * Generator name -> table whose existing ids it must start above.
+     */
+    public static final Map<String, String> TABLES = Map.of(
+            PRODUCTS, "products",
+            ORDER_ITEMS, "order_items",
+            ORDER_STATUS_HISTORY, "order_status_history",
+            NOTIFICATIONS, "notifications",
+            ADMIN_ACTIVITY_LOGS, "admin_activity_logs");
+    
+    private IdGenerators() {
+    }
+}
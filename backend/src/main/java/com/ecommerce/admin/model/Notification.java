@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +18,10 @@ import java.time.LocalDateTime;
 public class Notification {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.NOTIFICATIONS)
+    @TableGenerator(name = IdGenerators.NOTIFICATIONS, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.NOTIFICATIONS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,30 @@
+package com.ecommerce.admin.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unread notification count of one user. Rows are written with SQL by
+ * NotificationCounters; the entity only defines the table.
+ */
+@Entity
+@Table(name = "notification_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationCounter {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -12,7 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_orders_updated", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
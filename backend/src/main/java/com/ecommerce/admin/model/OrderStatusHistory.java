@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 public class OrderStatusHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.ORDER_STATUS_HISTORY)
+    @TableGenerator(name = IdGenerators.ORDER_STATUS_HISTORY, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.ORDER_STATUS_HISTORY, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "order_id", nullable = false)
@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.PRODUCTS)
+    @TableGenerator(name = IdGenerators.PRODUCTS, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.PRODUCTS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 200)
@@ -41,15 +44,20 @@ public class Product {
     @Column(length = 100)
     private String categoryName;
     
-    @Column(name = "stock_quantity")
+    // Changed only through InventoryService's atomic updates, never by an entity flush
+    @Column(name = "stock_quantity", updatable = false)
     private Integer stockQuantity = 0;
     
     @Column(name = "stock_count", nullable = false)
     private Integer stockCount = 0;
     
-    @Column(name = "in_stock", nullable = false)
+    @Column(name = "in_stock", nullable = false, updatable = false)
     private Boolean inStock = true;
     
+    // Falls back to the category's threshold, then app.inventory.low-stock-threshold
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+    
     @Column(length = 500)
     private String thumbnail;
     
@@ -65,12 +73,17 @@ public class Product {
     @Column(name = "original_price", precision = 10, scale = 2)
     private BigDecimal originalPrice;
     
-    @Column(nullable = false)
+    // Rating aggregates are maintained from approved reviews by ReviewService's atomic updates
+    @Column(nullable = false, updatable = false)
     private Double rating = 0.0;
     
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer reviews = 0;
     
+    @Column(name = "rating_sum", updatable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+    
     @Column(name = "is_active")
     private Boolean isActive = true;
     
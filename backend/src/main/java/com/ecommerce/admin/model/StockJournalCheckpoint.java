@@ -0,0 +1,30 @@
+package com.ecommerce.admin.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last stock journal segment of a node whose deltas have been written to
+ * products. Updated in the same transaction as the flushed stock.
+ */
+@Entity
+@Table(name = "stock_journal_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockJournalCheckpoint {
+    
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+    
+    @Column(name = "last_segment", nullable = false)
+    private Long lastSegment;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
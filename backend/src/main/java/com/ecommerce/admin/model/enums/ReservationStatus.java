@@ -0,0 +1,8 @@
+package com.ecommerce.admin.model.enums;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ArchivedOrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, Long> {
+    
+    @Query("SELECT oi FROM ArchivedOrderItem oi JOIN FETCH oi.product WHERE oi.order.id = :orderId")
+    List<ArchivedOrderItem> findByOrderIdWithProduct(@Param("orderId") Long orderId);
+    
+    // Ranks products over both tables in one statement, so only the top rows leave the database
+    @Query(value = "SELECT p.id, p.name, p.thumbnail, " +
+           "SUM(s.quantity) AS total_quantity, " +
+           "SUM(s.total) AS total_revenue " +
+           "FROM (SELECT oi.product_id, oi.quantity, oi.total FROM order_items oi " +
+           "JOIN orders o ON o.id = oi.order_id WHERE o.status <> 'CANCELLED' " +
+           "UNION ALL SELECT ai.product_id, ai.quantity, ai.total FROM order_items_archive ai " +
+           "JOIN orders_archive ao ON ao.id = ai.order_id WHERE ao.status <> 'CANCELLED') s " +
+           "JOIN products p ON p.id = s.product_id " +
+           "GROUP BY p.id, p.name, p.thumbnail " +
+           "ORDER BY total_quantity DESC " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findTopSellingProductsIncludingArchive(@Param("limit") int limit);
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ArchivedOrder;
+import com.ecommerce.admin.repository.projection.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    
+    @EntityGraph(value = "ArchivedOrder.withDetails", type = EntityGraph.EntityGraphType.FETCH)
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<ArchivedOrder> findWithDetailsById(@Param("id") Long id);
+    
+    @Query("SELECT COALESCE(SUM(o.total), 0) FROM ArchivedOrder o " +
+           "WHERE o.createdAt BETWEEN :startDate AND :endDate " +
+           "AND o.status != 'CANCELLED'")
+    BigDecimal getTotalRevenue(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+    
+    @Query("SELECT COUNT(o) FROM ArchivedOrder o WHERE " +
+           "o.createdAt BETWEEN :startDate AND :endDate AND " +
+           "o.status != 'CANCELLED'")
+    Long countSuccessfulOrders(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+    
+    @Query("SELECT COUNT(o), COALESCE(SUM(o.total), 0), MIN(o.orderDate), MAX(o.orderDate) " +
+           "FROM ArchivedOrder o WHERE o.user.id = :userId AND o.status != 'CANCELLED'")
+    List<Object[]> aggregateCustomerStats(@Param("userId") Long userId);
+    
+    // Keyset pagination over idx_orders_archive_user_created, mirroring OrderRepository's order history queries
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, " +
+           "o.paymentMethod AS paymentMethod, u.fullName AS customerName, u.email AS customerEmail, " +
+           "o.subtotal AS subtotal, o.shipping AS shipping, o.discount AS discount, o.total AS total, " +
+           "(SELECT COUNT(i) FROM ArchivedOrderItem i WHERE i.order = o) AS itemCount, " +
+           "o.orderDate AS orderDate, o.deliveredDate AS deliveredDate, o.createdAt AS createdAt " +
+           "FROM ArchivedOrder o JOIN o.user u " +
+           "WHERE o.user.id = :userId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findOrderSummariesByUserId(
+        @Param("userId") Long userId,
+        Pageable limit
+    );
+    
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, " +
+           "o.paymentMethod AS paymentMethod, u.fullName AS customerName, u.email AS customerEmail, " +
+           "o.subtotal AS subtotal, o.shipping AS shipping, o.discount AS discount, o.total AS total, " +
+           "(SELECT COUNT(i) FROM ArchivedOrderItem i WHERE i.order = o) AS itemCount, " +
+           "o.orderDate AS orderDate, o.deliveredDate AS deliveredDate, o.createdAt AS createdAt " +
+           "FROM ArchivedOrder o JOIN o.user u " +
+           "WHERE o.user.id = :userId AND " +
+           "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findOrderSummariesByUserIdBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable limit
+    );
+    
+    @Query("SELECT MAX(o.createdAt) FROM ArchivedOrder o")
+    LocalDateTime findLatestCreatedAt();
+}
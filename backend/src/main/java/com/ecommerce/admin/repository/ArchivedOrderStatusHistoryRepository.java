@@ -0,0 +1,13 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ArchivedOrderStatusHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderStatusHistoryRepository extends JpaRepository<ArchivedOrderStatusHistory, Long> {
+    
+    List<ArchivedOrderStatusHistory> findByOrderIdOrderByCreatedAtAsc(Long orderId);
+}
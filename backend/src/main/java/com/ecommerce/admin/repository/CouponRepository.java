@@ -1,7 +1,11 @@
 package com.ecommerce.admin.repository;
 
 import com.ecommerce.admin.model.Coupon;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -18,4 +22,13 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     List<Coupon> findByExpiresAtBefore(LocalDateTime dateTime);
     
     boolean existsByCode(String code);
+    
+    @Query("SELECT c FROM Coupon c WHERE " +
+           "(:search IS NULL OR c.code LIKE CONCAT(:search, '%')) AND " +
+           "(:isActive IS NULL OR c.isActive = :isActive)")
+    Page<Coupon> findCoupons(
+        @Param("search") String search,
+        @Param("isActive") Boolean isActive,
+        Pageable pageable
+    );
 }
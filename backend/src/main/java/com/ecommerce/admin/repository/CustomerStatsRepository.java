@@ -0,0 +1,49 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.CustomerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, Long> {
+    
+    String REFRESH_SELECT = "INSERT INTO customer_stats " +
+           "(user_id, order_count, total_spent, average_order_value, first_order_date, last_order_date, updated_at) " +
+           "SELECT o.user_id, COUNT(CASE WHEN o.status <> 'CANCELLED' THEN 1 END), " +
+           "COALESCE(SUM(CASE WHEN o.status <> 'CANCELLED' THEN o.total END), 0), " +
+           "COALESCE(ROUND(AVG(CASE WHEN o.status <> 'CANCELLED' THEN o.total END), 2), 0), " +
+           "MIN(CASE WHEN o.status <> 'CANCELLED' THEN o.order_date END), " +
+           "MAX(CASE WHEN o.status <> 'CANCELLED' THEN o.order_date END), NOW() " +
+           "FROM (SELECT user_id, status, total, order_date FROM orders " +
+           "UNION ALL SELECT user_id, status, total, order_date FROM orders_archive) o ";
+    
+    String REFRESH_UPSERT = "GROUP BY o.user_id " +
+           "ON DUPLICATE KEY UPDATE " +
+           "order_count = VALUES(order_count), " +
+           "total_spent = VALUES(total_spent), " +
+           "average_order_value = VALUES(average_order_value), " +
+           "first_order_date = VALUES(first_order_date), " +
+           "last_order_date = VALUES(last_order_date), " +
+           "updated_at = NOW()";
+    
+    // Counting with CASE keeps a row for users whose orders are all cancelled, so their stats
+    // drop to zero instead of going stale
+    @Modifying
+    @Query(value = REFRESH_SELECT + REFRESH_UPSERT, nativeQuery = true)
+    int refreshAll();
+    
+    // Users with orders changed since :since, plus users that have no row yet
+    @Modifying
+    @Query(value = REFRESH_SELECT +
+           "LEFT JOIN customer_stats cs ON cs.user_id = o.user_id " +
+           "WHERE cs.user_id IS NULL " +
+           "OR o.user_id IN (SELECT c.user_id FROM orders c WHERE c.updated_at >= :since) " +
+           REFRESH_UPSERT,
+           nativeQuery = true)
+    int refreshChangedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    
+    // Frees the scope of an expired record that the hourly purge has not removed yet, or of a
+    // claim abandoned by an instance that stopped while running the request
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scopeKey = :scopeKey AND " +
+           "(r.createdAt < :cutoff OR (r.pending = true AND r.createdAt < :claimCutoff))")
+    int deleteStale(
+        @Param("scopeKey") String scopeKey,
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("claimCutoff") LocalDateTime claimCutoff
+    );
+    
+    // INSERT IGNORE lets the primary key decide between concurrent requests: it reports 0 rows
+    // when the scope already exists, whatever the driver's found-rows setting
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys " +
+           "(scope_key, request_fingerprint, response_status, response_body, pending, created_at) " +
+           "VALUES (:scopeKey, :fingerprint, 0, NULL, TRUE, :createdAt)",
+           nativeQuery = true)
+    int claim(
+        @Param("scopeKey") String scopeKey,
+        @Param("fingerprint") String fingerprint,
+        @Param("createdAt") LocalDateTime createdAt
+    );
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.responseBody = :body, r.pending = false " +
+           "WHERE r.scopeKey = :scopeKey AND r.pending = true")
+    int complete(
+        @Param("scopeKey") String scopeKey,
+        @Param("status") int status,
+        @Param("body") String body
+    );
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scopeKey = :scopeKey AND r.pending = true")
+    int releaseClaim(@Param("scopeKey") String scopeKey);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,9 +2,7 @@ package com.ecommerce.admin.repository;
 
 import com.ecommerce.admin.model.Order;
 import com.ecommerce.admin.model.enums.OrderStatus;
-
-
-
+import com.ecommerce.admin.repository.projection.OrderSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -58,4 +56,38 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
+    
+    @Query("SELECT COUNT(o), COALESCE(SUM(o.total), 0), MIN(o.orderDate), MAX(o.orderDate) " +
+           "FROM Order o WHERE o.user.id = :userId AND o.status != 'CANCELLED'")
+    List<Object[]> aggregateCustomerStats(@Param("userId") Long userId);
+    
+    // Keyset pagination over idx_orders_user_created; callers pass an unsorted Pageable as the row limit
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, " +
+           "o.paymentMethod AS paymentMethod, u.fullName AS customerName, u.email AS customerEmail, " +
+           "o.subtotal AS subtotal, o.shipping AS shipping, o.discount AS discount, o.total AS total, " +
+           "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o) AS itemCount, " +
+           "o.orderDate AS orderDate, o.deliveredDate AS deliveredDate, o.createdAt AS createdAt " +
+           "FROM Order o JOIN o.user u " +
+           "WHERE o.user.id = :userId " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findOrderSummariesByUserId(
+        @Param("userId") Long userId,
+        Pageable limit
+    );
+    
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status, " +
+           "o.paymentMethod AS paymentMethod, u.fullName AS customerName, u.email AS customerEmail, " +
+           "o.subtotal AS subtotal, o.shipping AS shipping, o.discount AS discount, o.total AS total, " +
+           "(SELECT COUNT(i) FROM OrderItem i WHERE i.order = o) AS itemCount, " +
+           "o.orderDate AS orderDate, o.deliveredDate AS deliveredDate, o.createdAt AS createdAt " +
+           "FROM Order o JOIN o.user u " +
+           "WHERE o.user.id = :userId AND " +
+           "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummary> findOrderSummariesByUserIdBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable limit
+    );
 }
\ No newline at end of file
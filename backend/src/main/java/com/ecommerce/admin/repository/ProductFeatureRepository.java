@@ -0,0 +1,19 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ProductFeature;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductFeatureRepository extends JpaRepository<ProductFeature, Long> {
+    
+    // product id, feature
+    @Query("SELECT f.product.id, f.feature FROM ProductFeature f " +
+           "WHERE f.product.id IN :productIds ORDER BY f.id")
+    List<Object[]> findFeatureRows(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ProductImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
+    
+    // product id, imageUrl
+    @Query("SELECT i.product.id, i.imageUrl FROM ProductImage i " +
+           "WHERE i.product.id IN :productIds ORDER BY i.id")
+    List<Object[]> findImageRows(@Param("productIds") Collection<Long> productIds);
+}
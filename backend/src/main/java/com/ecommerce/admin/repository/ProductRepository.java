@@ -4,10 +4,12 @@ import com.ecommerce.admin.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,7 +38,57 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         Pageable pageable
     );
     
+    // category id, in stock, count; the same search predicate as findByFilters
+    @Query("SELECT c.id, p.inStock, COUNT(p) FROM Product p LEFT JOIN p.category c WHERE " +
+           "(:search IS NULL OR " +
+           "LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.sku) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+           "GROUP BY c.id, p.inStock")
+    List<Object[]> countFacets(@Param("search") String search);
+    
+    @Query("SELECT p.id, p.name, p.sku, p.description, p.metaKeywords, c.id, p.stockQuantity, p.createdAt " +
+           "FROM Product p LEFT JOIN p.category c WHERE p.id > :lastId ORDER BY p.id")
+    List<Object[]> findSearchIndexRows(@Param("lastId") Long lastId, Pageable pageable);
+    
+    @Query("SELECT p.id, p.name, p.sku, p.description, p.metaKeywords, c.id, p.stockQuantity, p.createdAt " +
+           "FROM Product p LEFT JOIN p.category c WHERE p.sku IN :skus")
+    List<Object[]> findSearchIndexRowsBySkus(@Param("skus") Collection<String> skus);
+    
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IS NOT NULL")
+    List<String> findAllSkus();
+    
+    // in_stock is assigned first so it is derived from the pre-update quantity plus the delta
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE products SET " +
+           "in_stock = (COALESCE(stock_quantity, 0) + :delta) > 0, " +
+           "stock_quantity = COALESCE(stock_quantity, 0) + :delta, " +
+           "updated_at = NOW() " +
+           "WHERE id = :id AND COALESCE(stock_quantity, 0) + :delta >= 0",
+           nativeQuery = true)
+    int applyStockDelta(@Param("id") Long id, @Param("delta") int delta);
+    
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantity(@Param("id") Long id);
+    
+    // A product's own threshold wins over its category's, which wins over the default
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category c WHERE " +
+           "COALESCE(p.stockQuantity, 0) < COALESCE(p.lowStockThreshold, c.lowStockThreshold, :defaultThreshold)")
+    List<Product> findLowStock(@Param("defaultThreshold") int defaultThreshold);
+    
+    @Query("SELECT COALESCE(p.lowStockThreshold, c.lowStockThreshold) FROM Product p LEFT JOIN p.category c " +
+           "WHERE p.id = :id")
+    Optional<Integer> findLowStockThreshold(@Param("id") Long id);
+    
     Long countByInStock(Boolean inStock);
     
     Long countByCategoryId(Long categoryId);
+    
+    // category id, products, active products
+    @Query("SELECT p.category.id, COUNT(p), SUM(CASE WHEN p.isActive = false THEN 0 ELSE 1 END) " +
+           "FROM Product p WHERE p.category IS NOT NULL GROUP BY p.category.id")
+    List<Object[]> countProductsByCategory();
 }
@@ -0,0 +1,31 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ProductReview;
+import com.ecommerce.admin.repository.projection.ProductReviewRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductReviewRepository extends JpaRepository<ProductReview, Long> {
+    
+    @Query("SELECT r.product.id AS productId, r.id AS id, u.id AS userId, u.fullName AS userName, " +
+           "r.rating AS rating, r.reviewText AS reviewText, r.isVerifiedPurchase AS isVerifiedPurchase, " +
+           "r.isApproved AS isApproved, r.createdAt AS createdAt " +
+           "FROM ProductReview r JOIN r.user u " +
+           "WHERE r.product.id IN :productIds " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ProductReviewRow> findReviewRows(@Param("productIds") Collection<Long> productIds);
+    
+    @Query("SELECT r.product.id AS productId, r.id AS id, u.id AS userId, u.fullName AS userName, " +
+           "r.rating AS rating, r.reviewText AS reviewText, r.isVerifiedPurchase AS isVerifiedPurchase, " +
+           "r.isApproved AS isApproved, r.createdAt AS createdAt " +
+           "FROM ProductReview r JOIN r.user u " +
+           "WHERE r.id = :id")
+    Optional<ProductReviewRow> findReviewRowById(@Param("id") Long id);
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.admin.repository;
+
+import com.ecommerce.admin.model.ProductSize;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductSizeRepository extends JpaRepository<ProductSize, Long> {
+    
+    // product id, size
+    @Query("SELECT s.product.id, s.size FROM ProductSize s " +
+           "WHERE s.product.id IN :productIds ORDER BY s.id")
+    List<Object[]> findSizeRows(@Param("productIds") Collection<Long> productIds);
+}
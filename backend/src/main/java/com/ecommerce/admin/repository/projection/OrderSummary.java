@@ -0,0 +1,42 @@
+package com.ecommerce.admin.repository.projection;
+
+import com.ecommerce.admin.model.enums.OrderStatus;
+import com.ecommerce.admin.model.enums.PaymentMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of an order for list screens. Populated directly by
+ * the query so no Order, User or OrderItem entities are materialized.
+ */
+public interface OrderSummary {
+    
+    Long getId();
+    
+    String getOrderNumber();
+    
+    OrderStatus getStatus();
+    
+    PaymentMethod getPaymentMethod();
+    
+    String getCustomerName();
+    
+    String getCustomerEmail();
+    
+    BigDecimal getSubtotal();
+    
+    BigDecimal getShipping();
+    
+    BigDecimal getDiscount();
+    
+    BigDecimal getTotal();
+    
+    Long getItemCount();
+    
+    LocalDateTime getOrderDate();
+    
+    LocalDateTime getDeliveredDate();
+    
+    LocalDateTime getCreatedAt();
+}
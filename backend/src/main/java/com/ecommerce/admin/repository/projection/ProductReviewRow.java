@@ -0,0 +1,28 @@
+package com.ecommerce.admin.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review with its author's name, read for many products at once without
+ * materializing ProductReview or User entities.
+ */
+public interface ProductReviewRow {
+    
+    Long getProductId();
+    
+    Long getId();
+    
+    Long getUserId();
+    
+    String getUserName();
+    
+    Integer getRating();
+    
+    String getReviewText();
+    
+    Boolean getIsVerifiedPurchase();
+    
+    Boolean getIsApproved();
+    
+    LocalDateTime getCreatedAt();
+}
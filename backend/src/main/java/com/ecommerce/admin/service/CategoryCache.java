@@ -0,0 +1,150 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.response.CategoryResponse;
+import com.ecommerce.admin.model.Category;
+import com.ecommerce.admin.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Every category as an immutable snapshot, by id and as precomputed lists of
+ * all and of active categories.
+ *
+ * The snapshots are loaded on first use. Writes replace or remove the one
+ * category they touched once their transaction commits, by building a new
+ * copy of the (small) state, so readers never lock and never see a category
+ * that was not committed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryCache {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile State state;
+
+    public List<CategoryResponse> getAll() {
+        return state().all();
+    }
+
+    public List<CategoryResponse> getActive() {
+        return state().active();
+    }
+
+    public Optional<CategoryResponse> get(Long id) {
+        return Optional.ofNullable(state().byId().get(id));
+    }
+
+    /**
+     * Stores a snapshot of the category once the current transaction commits,
+     * or right away without one, and returns that snapshot.
+     */
+    public CategoryResponse putAfterCommit(Category category) {
+        CategoryResponse snapshot = toSnapshot(category);
+        afterCommit(() -> put(snapshot));
+        return snapshot;
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> remove(id));
+    }
+
+    public synchronized void reload() {
+        List<CategoryResponse> snapshots = new ArrayList<>();
+        for (Category category : categoryRepository.findAll()) {
+            snapshots.add(toSnapshot(category));
+        }
+        state = State.of(snapshots);
+        log.info("Loaded {} categories into the category cache", snapshots.size());
+    }
+
+    private State state() {
+        State current = state;
+        if (current == null) {
+            synchronized (this) {
+                if (state == null) {
+                    reload();
+                }
+                current = state;
+            }
+        }
+        return current;
+    }
+
+    // Not loaded yet: the first read loads the committed row anyway
+    private synchronized void put(CategoryResponse snapshot) {
+        if (state != null) {
+            Map<Long, CategoryResponse> byId = new TreeMap<>(state.byId());
+            byId.put(snapshot.getId(), snapshot);
+            state = State.of(byId.values());
+        }
+    }
+
+    private synchronized void remove(Long id) {
+        if (state != null && state.byId().containsKey(id)) {
+            Map<Long, CategoryResponse> byId = new TreeMap<>(state.byId());
+            byId.remove(id);
+            state = State.of(byId.values());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static CategoryResponse toSnapshot(Category category) {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .image(category.getImage())
+                .itemCount(category.getItemCount())
+                .lowStockThreshold(category.getLowStockThreshold())
+                .skuPrefix(category.getSkuPrefix())
+                .isActive(category.getIsActive() == null || category.getIsActive())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+
+    private record State(Map<Long, CategoryResponse> byId, List<CategoryResponse> all,
+                         List<CategoryResponse> active) {
+
+        static State of(Collection<CategoryResponse> snapshots) {
+            Map<Long, CategoryResponse> byId = new TreeMap<>();
+            for (CategoryResponse snapshot : snapshots) {
+                byId.put(snapshot.getId(), snapshot);
+            }
+            List<CategoryResponse> all = new ArrayList<>(byId.values());
+            List<CategoryResponse> active = new ArrayList<>();
+            for (CategoryResponse snapshot : all) {
+                if (Boolean.TRUE.equals(snapshot.getIsActive())) {
+                    active.add(snapshot);
+                }
+            }
+            return new State(Collections.unmodifiableMap(byId), Collections.unmodifiableList(all),
+                    Collections.unmodifiableList(active));
+        }
+    }
+}
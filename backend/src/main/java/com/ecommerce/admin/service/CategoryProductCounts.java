@@ -0,0 +1,97 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Product counts per category, kept in memory so the category sidebar needs
+ * no count queries.
+ *
+ * Counts are loaded with one GROUP BY on startup and adjusted after commit by
+ * every write that adds products to a category, moves them or changes whether
+ * they are active. They are reloaded every minute, which picks up writes
+ * committed by other instances and also corrects a change that committed
+ * while a reload was reading.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryProductCounts {
+
+    private final ProductRepository productRepository;
+
+    private volatile Map<Long, Counts> counts = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.categories.count-refresh-ms:60000}",
+            initialDelayString = "${app.categories.count-refresh-ms:60000}")
+    public void reconcile() {
+        Map<Long, Counts> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : productRepository.countProductsByCategory()) {
+            loaded.put((Long) row[0], new Counts(((Number) row[1]).longValue(), ((Number) row[2]).longValue()));
+        }
+        counts = loaded;
+        log.debug("Loaded product counts for {} categories", loaded.size());
+    }
+
+    public long totalCount(Long categoryId) {
+        Counts categoryCounts = counts.get(categoryId);
+        return categoryCounts != null ? categoryCounts.total.get() : 0;
+    }
+
+    public long activeCount(Long categoryId) {
+        Counts categoryCounts = counts.get(categoryId);
+        return categoryCounts != null ? categoryCounts.active.get() : 0;
+    }
+
+    /**
+     * Applies the deltas once the current transaction commits, or right away
+     * without one. A null category is ignored.
+     */
+    public void adjustAfterCommit(Long categoryId, long totalDelta, long activeDelta) {
+        if (categoryId == null || (totalDelta == 0 && activeDelta == 0)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjust(categoryId, totalDelta, activeDelta);
+                }
+            });
+        } else {
+            adjust(categoryId, totalDelta, activeDelta);
+        }
+    }
+
+    public void categoryDeleted(Long categoryId) {
+        counts.remove(categoryId);
+    }
+
+    private void adjust(Long categoryId, long totalDelta, long activeDelta) {
+        Counts categoryCounts = counts.computeIfAbsent(categoryId, key -> new Counts(0, 0));
+        categoryCounts.total.addAndGet(totalDelta);
+        categoryCounts.active.addAndGet(activeDelta);
+    }
+
+    private static final class Counts {
+        private final AtomicLong total;
+        private final AtomicLong active;
+
+        private Counts(long total, long active) {
+            this.total = new AtomicLong(total);
+            this.active = new AtomicLong(active);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.ecommerce.admin.service;
 
+import com.ecommerce.admin.dto.response.CategoryCountResponse;
+import com.ecommerce.admin.dto.response.CategoryResponse;
 import com.ecommerce.admin.exception.BadRequestException;
 import com.ecommerce.admin.exception.ResourceNotFoundException;
 import com.ecommerce.admin.model.Category;
@@ -7,12 +9,11 @@ import com.ecommerce.admin.repository.CategoryRepository;
 import com.ecommerce.admin.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,11 +24,20 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final LowStockService lowStockService;
+    private final CategoryProductCounts categoryProductCounts;
+    private final CategoryCache categoryCache;
 
-    @Cacheable(value = "categories", key = "'all'")
-    public List<Category> getAllCategories() {
+    public List<CategoryResponse> getAllCategories() {
         log.debug("Fetching all categories");
-        return categoryRepository.findAll();
+        return categoryCache.getAll();
+    }
+
+    public CategoryResponse getCategory(Long id) {
+        log.debug("Fetching category with id: {}", id);
+        return categoryCache.get(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
     }
 
     public Category getCategoryById(Long id) {
@@ -37,8 +47,7 @@ public class CategoryService {
     }
 
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
-    public Category createCategory(Category category) {
+    public CategoryResponse createCategory(Category category) {
         log.info("Creating new category: {}", category.getName());
         
         if (category.getName() == null || category.getName().isBlank()) {
@@ -49,17 +58,17 @@ public class CategoryService {
             throw new BadRequestException("Category with name '" + category.getName() + "' already exists");
         }
 
+        category.setSkuPrefix(SkuAllocator.normalizePrefix(category.getSkuPrefix()));
         category.setCreatedAt(LocalDateTime.now());
         category.setUpdatedAt(LocalDateTime.now());
         
         Category saved = categoryRepository.save(category);
         log.info("Category created successfully with id: {}", saved.getId());
-        return saved;
+        return categoryCache.putAfterCommit(saved);
     }
 
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
-    public Category updateCategory(Long id, Category categoryDetails) {
+    public CategoryResponse updateCategory(Long id, Category categoryDetails) {
         log.info("Updating category with id: {}", id);
         
         Category category = getCategoryById(id);
@@ -80,15 +89,29 @@ public class CategoryService {
             category.setImage(categoryDetails.getImage());
         }
 
+        if (categoryDetails.getSkuPrefix() != null) {
+            category.setSkuPrefix(SkuAllocator.normalizePrefix(categoryDetails.getSkuPrefix()));
+        }
+
+        if (categoryDetails.getIsActive() != null) {
+            category.setIsActive(categoryDetails.getIsActive());
+        }
+
+        if (categoryDetails.getLowStockThreshold() != null) {
+            category.setLowStockThreshold(categoryDetails.getLowStockThreshold());
+            lowStockService.categoryThresholdChanged();
+        }
+
         category.setUpdatedAt(LocalDateTime.now());
 
         Category updated = categoryRepository.save(category);
+        // Cached product details carry the category name
+        productCache.clearAfterCommit();
         log.info("Category updated successfully: {}", updated.getId());
-        return updated;
+        return categoryCache.putAfterCommit(updated);
     }
 
     @Transactional
-    @CacheEvict(value = "categories", allEntries = true)
     public void deleteCategory(Long id) {
         log.info("Deleting category with id: {}", id);
         
@@ -103,18 +126,39 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        categoryCache.removeAfterCommit(id);
+        categoryProductCounts.categoryDeleted(id);
         log.info("Category deleted successfully: {}", id);
     }
 
     public Long getProductCountByCategory(Long categoryId) {
         log.debug("Getting product count for category: {}", categoryId);
         getCategoryById(categoryId);
-        return productRepository.countByCategoryId(categoryId);
+        return categoryProductCounts.totalCount(categoryId);
+    }
+
+    /**
+     * Every category with its product counts, served from the category cache
+     * and the in-memory counts without querying.
+     */
+    public List<CategoryCountResponse> getCategoriesWithCounts() {
+        List<CategoryResponse> categories = categoryCache.getAll();
+        List<CategoryCountResponse> responses = new ArrayList<>(categories.size());
+        for (CategoryResponse category : categories) {
+            responses.add(CategoryCountResponse.builder()
+                    .id(category.getId())
+                    .name(category.getName())
+                    .description(category.getDescription())
+                    .image(category.getImage())
+                    .productCount(categoryProductCounts.totalCount(category.getId()))
+                    .activeProductCount(categoryProductCounts.activeCount(category.getId()))
+                    .build());
+        }
+        return responses;
     }
 
-    @Cacheable(value = "categories", key = "'active'")
-    public List<Category> getActiveCategories() {
+    public List<CategoryResponse> getActiveCategories() {
         log.debug("Fetching active categories");
-        return categoryRepository.findAll();
+        return categoryCache.getActive();
     }
 }
@@ -0,0 +1,133 @@
+package com.ecommerce.admin.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deactivates coupons that expired or ran out of usages.
+ *
+ * Each pass selects a chunk of candidates and deactivates them with one
+ * UPDATE that repeats the sweep condition, so a coupon changed in between is
+ * left alone. Expired coupons are found through the (is_active, expires_at)
+ * index. A coupon only counts as exhausted once it has not been touched for
+ * the grace period. CouponUsageTokens touches coupons whose redemption
+ * blocks still hold usages more often than that, so a coupon is only swept
+ * once its reserved usages have been used or given back. Swept codes are then
+ * dropped from the coupon index.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponExpiryService {
+
+    private static final String SELECT_EXPIRED =
+            "SELECT id, code FROM coupons WHERE is_active = TRUE AND expires_at <= :now " +
+            "ORDER BY expires_at LIMIT :limit";
+
+    private static final String DEACTIVATE_EXPIRED =
+            "UPDATE coupons SET is_active = FALSE, updated_at = NOW() " +
+            "WHERE id IN (:ids) AND is_active = TRUE AND expires_at <= :now";
+
+    private static final String SELECT_EXHAUSTED =
+            "SELECT id, code FROM coupons WHERE id > :afterId AND is_active = TRUE " +
+            "AND usage_count >= usage_limit AND updated_at < :settledBefore ORDER BY id LIMIT :limit";
+
+    private static final String DEACTIVATE_EXHAUSTED =
+            "UPDATE coupons SET is_active = FALSE, updated_at = NOW() " +
+            "WHERE id IN (:ids) AND is_active = TRUE AND usage_count >= usage_limit AND updated_at < :settledBefore";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final CouponIndex couponIndex;
+
+    @Value("${app.coupons.expiry.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.coupons.expiry.exhausted-grace-seconds:60}")
+    private long exhaustedGraceSeconds;
+
+    @Value("${app.coupons.redemption.idle-return-ms:10000}")
+    private long idleReturnMillis;
+
+    @PostConstruct
+    void checkGracePeriod() {
+        if (exhaustedGraceSeconds * 1000 <= idleReturnMillis * 2) {
+            throw new IllegalStateException("app.coupons.expiry.exhausted-grace-seconds must exceed twice " +
+                    "app.coupons.redemption.idle-return-ms, or coupons with reserved usages may be swept");
+        }
+    }
+
+    @Scheduled(cron = "${app.coupons.expiry.cron:0 */5 * * * *}")
+    public int sweep() {
+        long start = System.currentTimeMillis();
+        int expired = sweepExpired();
+        int exhausted = sweepExhausted();
+        if (expired > 0 || exhausted > 0) {
+            log.info("Deactivated {} expired and {} exhausted coupons in {}ms",
+                    expired, exhausted, System.currentTimeMillis() - start);
+        }
+        return expired + exhausted;
+    }
+
+    private int sweepExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int deactivated = 0;
+        List<Candidate> chunk;
+        do {
+            chunk = select(SELECT_EXPIRED, new MapSqlParameterSource("now", now).addValue("limit", chunkSize));
+            deactivated += deactivate(DEACTIVATE_EXPIRED, chunk, new MapSqlParameterSource("now", now));
+        } while (chunk.size() == chunkSize);
+        return deactivated;
+    }
+
+    private int sweepExhausted() {
+        Timestamp settledBefore = Timestamp.valueOf(LocalDateTime.now().minusSeconds(exhaustedGraceSeconds));
+        int deactivated = 0;
+        long afterId = 0;
+        List<Candidate> chunk;
+        do {
+            chunk = select(SELECT_EXHAUSTED, new MapSqlParameterSource("afterId", afterId)
+                    .addValue("settledBefore", settledBefore)
+                    .addValue("limit", chunkSize));
+            deactivated += deactivate(DEACTIVATE_EXHAUSTED, chunk,
+                    new MapSqlParameterSource("settledBefore", settledBefore));
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == chunkSize);
+        return deactivated;
+    }
+
+    private List<Candidate> select(String sql, MapSqlParameterSource params) {
+        return namedParameterJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new Candidate(rs.getLong("id"), rs.getString("code")));
+    }
+
+    private int deactivate(String sql, List<Candidate> chunk, MapSqlParameterSource params) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(chunk.size());
+        List<String> codes = new ArrayList<>(chunk.size());
+        for (Candidate candidate : chunk) {
+            ids.add(candidate.id());
+            codes.add(CouponIndex.normalize(candidate.code()));
+        }
+        int updated = namedParameterJdbcTemplate.update(sql, params.addValue("ids", ids));
+        couponIndex.removeAfterCommit(codes);
+        return updated;
+    }
+
+    private record Candidate(long id, String code) {
+    }
+}
@@ -0,0 +1,289 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.request.CouponGenerationRequest;
+import com.ecommerce.admin.dto.response.CouponGenerationJobResponse;
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.exception.ResourceNotFoundException;
+import com.ecommerce.admin.exception.ValidationException;
+import com.ecommerce.admin.model.enums.CouponType;
+import com.ecommerce.admin.model.enums.JobStatus;
+import com.ecommerce.admin.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates large numbers of random coupon codes with the same terms.
+ *
+ * Jobs run on the job executor and report progress through
+ * {@link #getJob}. Existing codes are streamed into a hash set once, and a
+ * Bloom filter over them and the codes already generated lets nearly every
+ * fresh candidate be accepted without probing the set. Codes are inserted in
+ * JDBC batches, one transaction per chunk, so a failure keeps the chunks
+ * already committed. The coupon index is rebuilt when a job ends.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CouponGenerationService {
+
+    private static final String DEFAULT_ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int DEFAULT_LENGTH = 10;
+    private static final int MAX_CODE_LENGTH = 20;
+    // The code space must be this many times the codes requested, so collisions stay rare
+    private static final double MIN_SPACE_FACTOR = 100;
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private static final String INSERT_COUPON =
+            "INSERT INTO coupons (code, type, value, min_purchase, max_discount, usage_limit, usage_count, " +
+            "expires_at, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final CouponIndex couponIndex;
+
+    @Value("${app.coupons.generation.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.coupons.generation.job-retention-hours:24}")
+    private long jobRetentionHours;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public CouponGenerationJobResponse startGeneration(CouponGenerationRequest request) {
+        String prefix = request.getPrefix() != null ? request.getPrefix().trim().toUpperCase(Locale.ROOT) : "";
+        String alphabet = request.getAlphabet() != null && !request.getAlphabet().isEmpty()
+                ? request.getAlphabet()
+                : DEFAULT_ALPHABET;
+        int length = request.getLength() != null ? request.getLength() : DEFAULT_LENGTH;
+
+        if (alphabet.chars().distinct().count() != alphabet.length()) {
+            throw new ValidationException("Alphabet must not repeat characters");
+        }
+        if (prefix.length() + length > MAX_CODE_LENGTH) {
+            throw new ValidationException("Prefix and length together cannot exceed " + MAX_CODE_LENGTH + " characters");
+        }
+        if (length * Math.log(alphabet.length()) < Math.log(MIN_SPACE_FACTOR * request.getCount())) {
+            throw new ValidationException("Alphabet and length allow too few codes for " + request.getCount() +
+                    " coupons; use a longer length or a larger alphabet");
+        }
+        if (request.getType() == CouponType.PERCENTAGE &&
+            request.getValue().compareTo(BigDecimal.valueOf(100)) > 0) {
+            throw new ValidationException("Percentage discount cannot exceed 100%");
+        }
+
+        purgeFinishedJobs();
+
+        Job job = new Job(UUID.randomUUID().toString(), request, prefix, alphabet.toCharArray(), length);
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new BadRequestException("Too many jobs are queued, try again later");
+        }
+
+        log.info("Queued generation of {} coupons with prefix '{}' as job {}", request.getCount(), prefix, job.id);
+
+        return mapToJobResponse(job);
+    }
+
+    public CouponGenerationJobResponse getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Coupon generation job not found with id: " + jobId);
+        }
+        return mapToJobResponse(job);
+    }
+
+    private void run(Job job) {
+        job.status = JobStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+
+        try {
+            Set<String> taken = loadExistingCodes();
+            BloomFilter filter = new BloomFilter(taken.size() + (long) job.requested(), 0.01);
+            taken.forEach(filter::put);
+
+            SecureRandom random = new SecureRandom();
+            while (job.inserted < job.requested()) {
+                int size = (int) Math.min(batchSize, job.requested() - job.inserted);
+                insertChunk(job, size, taken, filter, random);
+            }
+
+            job.status = JobStatus.COMPLETED;
+            log.info("Job {} generated {} coupons in {}ms ({} collisions)",
+                    job.id, job.inserted, System.currentTimeMillis() - start, job.collisions);
+        } catch (RuntimeException e) {
+            job.status = JobStatus.FAILED;
+            job.error = e.getMessage();
+            log.error("Job {} failed after generating {} coupons", job.id, job.inserted, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            if (job.inserted > 0) {
+                couponIndex.rebuild();
+            }
+        }
+    }
+
+    private Set<String> loadExistingCodes() {
+        // Streamed so the codes are never all held as rows
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+
+        Set<String> codes = new HashSet<>();
+        streaming.query("SELECT code FROM coupons", rs -> {
+            codes.add(CouponIndex.normalize(rs.getString(1)));
+        });
+        return codes;
+    }
+
+    private void insertChunk(Job job, int size, Set<String> taken, BloomFilter filter, SecureRandom random) {
+        for (int attempt = 1; ; attempt++) {
+            List<String> codes = new ArrayList<>(size);
+            while (codes.size() < size) {
+                String code = nextCode(job, random);
+                // Not in the filter means certainly new; otherwise the set decides
+                if (filter.mightContain(code) && taken.contains(code)) {
+                    job.collisions++;
+                    continue;
+                }
+                filter.put(code);
+                taken.add(code);
+                codes.add(code);
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertCodes(job, codes));
+                job.inserted += codes.size();
+                return;
+            } catch (DuplicateKeyException e) {
+                // A code created elsewhere since the set was loaded: retry the chunk with fresh codes
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                job.collisions++;
+                log.warn("Job {} hit an existing code, regenerating chunk", job.id);
+            }
+        }
+    }
+
+    private void insertCodes(Job job, List<String> codes) {
+        CouponGenerationRequest terms = job.request;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp expiresAt = Timestamp.valueOf(terms.getExpiresAt());
+        BigDecimal minPurchase = terms.getMinPurchase() != null ? terms.getMinPurchase() : BigDecimal.ZERO;
+        int usageLimit = terms.getUsageLimit() != null ? terms.getUsageLimit() : 1;
+        boolean active = terms.getIsActive() == null || terms.getIsActive();
+
+        jdbcTemplate.batchUpdate(INSERT_COUPON, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, codes.get(i));
+                ps.setString(2, terms.getType().name());
+                ps.setBigDecimal(3, terms.getValue());
+                ps.setBigDecimal(4, minPurchase);
+                if (terms.getMaxDiscount() != null) {
+                    ps.setBigDecimal(5, terms.getMaxDiscount());
+                } else {
+                    ps.setNull(5, Types.DECIMAL);
+                }
+                ps.setInt(6, usageLimit);
+                ps.setTimestamp(7, expiresAt);
+                ps.setBoolean(8, active);
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return codes.size();
+            }
+        });
+    }
+
+    private static String nextCode(Job job, SecureRandom random) {
+        char[] code = new char[job.prefix.length() + job.length];
+        job.prefix.getChars(0, job.prefix.length(), code, 0);
+        for (int i = job.prefix.length(); i < code.length; i++) {
+            code[i] = job.alphabet[random.nextInt(job.alphabet.length)];
+        }
+        return new String(code);
+    }
+
+    private void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(jobRetentionHours);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private CouponGenerationJobResponse mapToJobResponse(Job job) {
+        long inserted = job.inserted;
+        return CouponGenerationJobResponse.builder()
+                .jobId(job.id)
+                .status(job.status)
+                .prefix(job.prefix)
+                .requested(job.requested())
+                .inserted(inserted)
+                .collisions(job.collisions)
+                .percentComplete(Math.round(inserted * 1000.0 / job.requested()) / 10.0)
+                .error(job.error)
+                .createdAt(job.createdAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+
+    private static final class Job {
+        private final String id;
+        private final CouponGenerationRequest request;
+        private final String prefix;
+        private final char[] alphabet;
+        private final int length;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        // Written by the job's thread only, read by status requests
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile long inserted;
+        private volatile long collisions;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(String id, CouponGenerationRequest request, String prefix, char[] alphabet, int length) {
+            this.id = id;
+            this.request = request;
+            this.prefix = prefix;
+            this.alphabet = alphabet;
+            this.length = length;
+        }
+
+        private int requested() {
+            return request.getCount();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.model.Coupon;
+import com.ecommerce.admin.model.enums.CouponType;
+import com.ecommerce.admin.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of coupon codes for validation.
+ *
+ * Coupons that are active and not expired are held as immutable compiled
+ * rules keyed by normalized code. Every code that exists is also put in a
+ * Bloom filter, so an unknown code is rejected without a query; only a known
+ * code that is inactive or expired (or a rare false positive) falls back to
+ * the database, to report why it cannot be used. Writes update the index
+ * after commit, and a periodic reconcile rebuilds it from the table to pick
+ * up changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CouponIndex {
+
+    private static final String SELECT_COUPONS =
+            "SELECT id, code, type, value, min_purchase, max_discount, usage_limit, usage_count, " +
+            "expires_at, is_active, updated_at FROM coupons";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.coupons.index.expected-codes:100000}")
+    private long expectedCodes;
+
+    @Value("${app.coupons.index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.coupons.index.catch-up-ms:1000}")
+    private long catchUpMillis;
+
+    // Rows are re-read this far behind the newest updated_at seen, covering
+    // transactions that commit after a later row and clock differences
+    @Value("${app.coupons.index.catch-up-overlap-seconds:5}")
+    private long catchUpOverlapSeconds;
+
+    private volatile Map<String, Rule> rules = new ConcurrentHashMap<>();
+    private volatile BloomFilter knownCodes;
+
+    // Writes applied while a rebuild is reading, replayed onto the rebuilt index
+    private List<Write> writesDuringRebuild;
+
+    // Newest updated_at read from the table, and when the index last caught up with it
+    private volatile LocalDateTime watermark;
+    private volatile long caughtUpAt;
+
+    public static String normalize(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * The compiled rule of a usable coupon, or null when the code is unknown,
+     * inactive or expired.
+     */
+    public Rule get(String normalizedCode) {
+        return rules.get(normalizedCode);
+    }
+
+    /**
+     * False only when the code certainly does not exist. Always true until
+     * the index is first built, and while the catch-up with other instances'
+     * writes is behind.
+     */
+    public boolean mightExist(String normalizedCode) {
+        BloomFilter filter = knownCodes;
+        return filter == null || filter.mightContain(normalizedCode) ||
+               System.currentTimeMillis() - caughtUpAt > catchUpMillis * 3;
+    }
+
+    /**
+     * Indexes the coupon as saved once the current transaction commits, or
+     * right away without one. A changed code should pass the previous code,
+     * which is dropped from the usable rules.
+     */
+    public void updateAfterCommit(Coupon coupon, String previousCode) {
+        Write write = new Write(Rule.compile(coupon), normalize(previousCode));
+        afterCommit(() -> {
+            synchronized (this) {
+                apply(write);
+                if (writesDuringRebuild != null) {
+                    writesDuringRebuild.add(write);
+                }
+            }
+        });
+    }
+
+    /**
+     * Updates the usage count of a usable coupon's rule.
+     */
+    public void recordUsage(String normalizedCode, int usageCount) {
+        rules.computeIfPresent(normalizedCode, (code, rule) -> rule.withUsageCount(usageCount));
+    }
+
+    /**
+     * Drops the codes from the usable rules once the current transaction
+     * commits. A code dropped by mistake is only slower: validation reads it
+     * from the database.
+     */
+    public void removeAfterCommit(Collection<String> normalizedCodes) {
+        List<Write> writes = new ArrayList<>(normalizedCodes.size());
+        for (String code : normalizedCodes) {
+            writes.add(new Write(null, code));
+        }
+        afterCommit(() -> {
+            synchronized (this) {
+                for (Write write : writes) {
+                    apply(write);
+                }
+                if (writesDuringRebuild != null) {
+                    writesDuringRebuild.addAll(writes);
+                }
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.coupons.index.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.coupons.index.reconcile-interval-ms:300000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+
+        Map<String, Rule> rebuilt = new ConcurrentHashMap<>();
+        List<String> codes = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime[] newest = { null };
+        try {
+            jdbcTemplate.query(SELECT_COUPONS, rs -> {
+                Rule rule = mapRow(rs);
+                codes.add(rule.code());
+                if (rule.usableAt(now)) {
+                    rebuilt.put(rule.code(), rule);
+                }
+                newest[0] = later(newest[0], rs.getTimestamp("updated_at"));
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                writesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        // Sized for growth, so codes created before the next rebuild keep the error rate
+        BloomFilter filter = new BloomFilter(Math.max(expectedCodes, codes.size() * 2L), falsePositiveRate);
+        codes.forEach(filter::put);
+
+        int replayed;
+        synchronized (this) {
+            rules = rebuilt;
+            knownCodes = filter;
+            replayed = writesDuringRebuild.size();
+            writesDuringRebuild.forEach(this::apply);
+            writesDuringRebuild = null;
+            if (watermark == null || (newest[0] != null && newest[0].isAfter(watermark))) {
+                watermark = newest[0];
+            }
+            caughtUpAt = start;
+        }
+
+        log.info("Indexed {} coupon codes, {} usable, {} writes replayed in {}ms",
+                codes.size(), rebuilt.size(), replayed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Applies the coupons updated since the watermark, which covers writes
+     * committed by other instances.
+     */
+    @Scheduled(fixedDelayString = "${app.coupons.index.catch-up-ms:1000}",
+            initialDelayString = "${app.coupons.index.catch-up-ms:1000}")
+    public void catchUp() {
+        if (knownCodes == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDateTime since = watermark != null
+                ? watermark.minusSeconds(catchUpOverlapSeconds)
+                : LocalDateTime.now().minusSeconds(catchUpOverlapSeconds);
+
+        List<Rule> changed = new ArrayList<>();
+        LocalDateTime[] newest = { watermark };
+        jdbcTemplate.query(SELECT_COUPONS + " WHERE updated_at >= ?", rs -> {
+            changed.add(mapRow(rs));
+            newest[0] = later(newest[0], rs.getTimestamp("updated_at"));
+        }, Timestamp.valueOf(since));
+
+        synchronized (this) {
+            if (!changed.isEmpty()) {
+                // A code changed elsewhere leaves its previous code under the same id
+                Map<Long, String> codesById = new HashMap<>();
+                for (Rule rule : changed) {
+                    codesById.put(rule.id(), rule.code());
+                }
+                rules.values().removeIf(rule -> {
+                    String code = codesById.get(rule.id());
+                    return code != null && !code.equals(rule.code());
+                });
+                for (Rule rule : changed) {
+                    Write write = new Write(rule, null);
+                    apply(write);
+                    if (writesDuringRebuild != null) {
+                        writesDuringRebuild.add(write);
+                    }
+                }
+            }
+            watermark = newest[0];
+            caughtUpAt = start;
+        }
+    }
+
+    private static LocalDateTime later(LocalDateTime current, Timestamp candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        LocalDateTime value = candidate.toLocalDateTime();
+        return current == null || value.isAfter(current) ? value : current;
+    }
+
+    private void apply(Write write) {
+        Rule rule = write.rule();
+        if (rule == null) {
+            rules.remove(write.previousCode());
+            return;
+        }
+        if (write.previousCode() != null && !write.previousCode().equals(rule.code())) {
+            rules.remove(write.previousCode());
+        }
+        BloomFilter filter = knownCodes;
+        if (filter != null) {
+            filter.put(rule.code());
+        }
+        if (rule.usableAt(LocalDateTime.now())) {
+            rules.put(rule.code(), rule);
+        } else {
+            rules.remove(rule.code());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Rule mapRow(ResultSet rs) throws SQLException {
+        Timestamp expiresAt = rs.getTimestamp("expires_at");
+        BigDecimal minPurchase = rs.getBigDecimal("min_purchase");
+        return new Rule(
+                rs.getLong("id"),
+                normalize(rs.getString("code")),
+                CouponType.valueOf(rs.getString("type")),
+                rs.getBigDecimal("value"),
+                minPurchase != null ? minPurchase : BigDecimal.ZERO,
+                rs.getBigDecimal("max_discount"),
+                rs.getInt("usage_limit"),
+                rs.getInt("usage_count"),
+                expiresAt != null ? expiresAt.toLocalDateTime() : null,
+                rs.getObject("is_active") == null || rs.getBoolean("is_active"));
+    }
+
+    // A null rule removes previousCode
+    private record Write(Rule rule, String previousCode) {
+    }
+
+    /**
+     * Immutable validation rule of one coupon.
+     */
+    public record Rule(Long id, String code, CouponType type, BigDecimal value, BigDecimal minPurchase,
+                       BigDecimal maxDiscount, int usageLimit, int usageCount, LocalDateTime expiresAt,
+                       boolean active) {
+
+        static Rule compile(Coupon coupon) {
+            return new Rule(
+                    coupon.getId(),
+                    normalize(coupon.getCode()),
+                    coupon.getType(),
+                    coupon.getValue(),
+                    coupon.getMinPurchase() != null ? coupon.getMinPurchase() : BigDecimal.ZERO,
+                    coupon.getMaxDiscount(),
+                    coupon.getUsageLimit(),
+                    coupon.getUsageCount() != null ? coupon.getUsageCount() : 0,
+                    coupon.getExpiresAt(),
+                    coupon.getIsActive() == null || coupon.getIsActive());
+        }
+
+        Rule withUsageCount(int count) {
+            return new Rule(id, code, type, value, minPurchase, maxDiscount, usageLimit, count, expiresAt, active);
+        }
+
+        public boolean isExpiredAt(LocalDateTime now) {
+            return expiresAt != null && expiresAt.isBefore(now);
+        }
+
+        boolean usableAt(LocalDateTime now) {
+            return active && !isExpiredAt(now);
+        }
+
+        public BigDecimal discountFor(BigDecimal orderTotal) {
+            if (type == CouponType.PERCENTAGE) {
+                BigDecimal discount = orderTotal.multiply(value)
+                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                return maxDiscount != null && discount.compareTo(maxDiscount) > 0 ? maxDiscount : discount;
+            }
+            return value.compareTo(orderTotal) > 0 ? orderTotal : value;
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.ecommerce.admin.service;
 
 import com.ecommerce.admin.dto.request.CouponCreateRequest;
+import com.ecommerce.admin.dto.request.CouponRedemptionRequest;
+import com.ecommerce.admin.dto.response.CouponRedemptionResponse;
 import com.ecommerce.admin.dto.response.CouponResponse;
+import com.ecommerce.admin.dto.response.CouponValidationResponse;
+import com.ecommerce.admin.dto.response.PageResponse;
 import com.ecommerce.admin.exception.BadRequestException;
 import com.ecommerce.admin.exception.ResourceNotFoundException;
 import com.ecommerce.admin.exception.ValidationException;
 import com.ecommerce.admin.model.Coupon;
 import com.ecommerce.admin.model.enums.CouponType;
 import com.ecommerce.admin.repository.CouponRepository;
+import com.ecommerce.admin.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,19 +32,33 @@ import java.util.List;
 public class CouponService {
     
     private final CouponRepository couponRepository;
+    private final CouponIndex couponIndex;
+    private final CouponUsageTokens couponUsageTokens;
     
     @Transactional(readOnly = true)
-    public List<CouponResponse> getCoupons() {
-        List<Coupon> coupons = couponRepository.findAll();
+    public PageResponse<CouponResponse> getCoupons(String search, Boolean isActive, int page, int size) {
+        // Newest first by id, which follows creation order without sorting on created_at
+        Pageable pageable = ValidationUtil.createPageable(page, size, Sort.by("id").descending());
+        String codePrefix = search != null && !search.isBlank() ? CouponIndex.normalize(search) : null;
+        Page<Coupon> couponPage = couponRepository.findCoupons(codePrefix, isActive, pageable);
         
         List<CouponResponse> responses = new ArrayList<>();
-        for (Coupon coupon : coupons) {
+        for (Coupon coupon : couponPage.getContent()) {
             responses.add(mapToCouponResponse(coupon));
         }
         
-        log.info("Retrieved {} coupons", responses.size());
+        log.info("Retrieved {} coupons with search={}, isActive={}", 
+                couponPage.getTotalElements(), search, isActive);
         
-        return responses;
+        return PageResponse.<CouponResponse>builder()
+                .content(responses)
+                .totalElements(couponPage.getTotalElements())
+                .totalPages(couponPage.getTotalPages())
+                .currentPage(couponPage.getNumber())
+                .pageSize(couponPage.getSize())
+                .first(couponPage.isFirst())
+                .last(couponPage.isLast())
+                .build();
     }
     
     @Transactional(readOnly = true)
@@ -52,7 +73,8 @@ public class CouponService {
     
     @Transactional
     public CouponResponse createCoupon(CouponCreateRequest request) {
-        if (couponRepository.existsByCode(request.getCode())) {
+        String code = CouponIndex.normalize(request.getCode());
+        if (couponRepository.existsByCode(code)) {
             throw new ValidationException("Coupon with code " + request.getCode() + " already exists");
         }
         
@@ -62,7 +84,7 @@ public class CouponService {
         }
         
         Coupon coupon = Coupon.builder()
-                .code(request.getCode().toUpperCase())
+                .code(code)
                 .type(request.getType())
                 .value(request.getValue())
                 .minPurchase(request.getMinPurchase() != null ? request.getMinPurchase() : BigDecimal.ZERO)
@@ -74,6 +96,7 @@ public class CouponService {
                 .build();
         
         coupon = couponRepository.save(coupon);
+        couponIndex.updateAfterCommit(coupon, null);
         
         log.info("Created new coupon: {} of type {}", coupon.getCode(), coupon.getType());
         
@@ -85,8 +108,9 @@ public class CouponService {
         Coupon coupon = couponRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Coupon not found with id: " + id));
         
-        if (!coupon.getCode().equals(request.getCode()) && 
-            couponRepository.existsByCode(request.getCode())) {
+        String code = CouponIndex.normalize(request.getCode());
+        String previousCode = coupon.getCode();
+        if (!previousCode.equals(code) && couponRepository.existsByCode(code)) {
             throw new ValidationException("Coupon with code " + request.getCode() + " already exists");
         }
         
@@ -95,7 +119,7 @@ public class CouponService {
             throw new ValidationException("Percentage discount cannot exceed 100%");
         }
         
-        coupon.setCode(request.getCode().toUpperCase());
+        coupon.setCode(code);
         coupon.setType(request.getType());
         coupon.setValue(request.getValue());
         coupon.setMinPurchase(request.getMinPurchase() != null ? request.getMinPurchase() : BigDecimal.ZERO);
@@ -105,6 +129,8 @@ public class CouponService {
         coupon.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
         
         coupon = couponRepository.save(coupon);
+        couponIndex.updateAfterCommit(coupon, previousCode);
+        couponUsageTokens.giveBackAfterCommit(coupon.getId());
         
         log.info("Updated coupon: {}", coupon.getCode());
         
@@ -118,64 +144,98 @@ public class CouponService {
         
         coupon.setIsActive(false);
         couponRepository.save(coupon);
+        couponIndex.updateAfterCommit(coupon, null);
+        couponUsageTokens.giveBackAfterCommit(coupon.getId());
         
         log.info("Deactivated coupon: {}", coupon.getCode());
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * Validates a code against an order total. Usable coupons are checked
+     * against their compiled rule in {@link CouponIndex}; unknown codes are
+     * rejected by its filter, and only known codes that cannot be used are
+     * read from the database, to report why.
+     */
     public CouponValidationResponse validateCoupon(String code, BigDecimal orderTotal) {
-        Coupon coupon = couponRepository.findByCode(code.toUpperCase())
-                .orElseThrow(() -> new ResourceNotFoundException("Coupon not found with code: " + code));
+        CouponIndex.Rule rule = findRule(code);
+        checkUsable(rule, orderTotal, true);
         
-        if (!coupon.getIsActive()) {
-            throw new BadRequestException("Coupon is not active");
-        }
+        BigDecimal discountAmount = rule.discountFor(orderTotal);
         
-        if (coupon.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("Coupon has expired");
-        }
+        log.debug("Validated coupon: {}, discount: {}", rule.code(), discountAmount);
         
-        if (coupon.getUsageCount() >= coupon.getUsageLimit()) {
-            throw new BadRequestException("Coupon usage limit reached");
-        }
+        return CouponValidationResponse.builder()
+                .valid(true)
+                .discountAmount(discountAmount)
+                .couponCode(rule.code())
+                .message("Coupon applied successfully")
+                .build();
+    }
+    
+    /**
+     * Validates the code and takes one of its usages. The usage is taken by
+     * {@link CouponUsageTokens}, which never lets usage_count pass
+     * usage_limit however many checkouts redeem the coupon at once.
+     */
+    public CouponRedemptionResponse redeemCoupon(CouponRedemptionRequest request) {
+        CouponIndex.Rule rule = findRule(request.getCode());
+        // The usage count in the index may lag; taking the usage is what enforces the limit
+        checkUsable(rule, request.getOrderTotal(), false);
         
-        if (orderTotal.compareTo(coupon.getMinPurchase()) < 0) {
-            throw new BadRequestException("Order total must be at least " + 
-                    coupon.getMinPurchase() + " to use this coupon");
+        if (!couponUsageTokens.take(rule)) {
+            // The index may be behind the table: report the current reason
+            CouponIndex.Rule current = couponRepository.findById(rule.id())
+                    .map(CouponIndex.Rule::compile)
+                    .orElseThrow(() -> new ResourceNotFoundException("Coupon not found with code: " + request.getCode()));
+            couponIndex.recordUsage(current.code(), current.usageCount());
+            checkUsable(current, request.getOrderTotal(), false);
+            throw new BadRequestException("Coupon usage limit reached");
         }
         
-        BigDecimal discountAmount = calculateDiscount(coupon, orderTotal);
+        BigDecimal discountAmount = rule.discountFor(request.getOrderTotal());
         
-        log.info("Validated coupon: {}, discount: {}", coupon.getCode(), discountAmount);
+        log.info("Redeemed coupon: {}, discount: {}", rule.code(), discountAmount);
         
-        return CouponValidationResponse.builder()
-                .valid(true)
+        return CouponRedemptionResponse.builder()
+                .couponId(rule.id())
+                .couponCode(rule.code())
+                .orderTotal(request.getOrderTotal())
                 .discountAmount(discountAmount)
-                .couponCode(coupon.getCode())
-                .message("Coupon applied successfully")
+                .redeemedAt(LocalDateTime.now())
                 .build();
     }
     
-    private BigDecimal calculateDiscount(Coupon coupon, BigDecimal orderTotal) {
-        BigDecimal discount;
-        
-        if (coupon.getType() == CouponType.PERCENTAGE) {
-            discount = orderTotal.multiply(coupon.getValue())
-                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-            
-            if (coupon.getMaxDiscount() != null && 
-                discount.compareTo(coupon.getMaxDiscount()) > 0) {
-                discount = coupon.getMaxDiscount();
-            }
-        } else {
-            discount = coupon.getValue();
-            
-            if (discount.compareTo(orderTotal) > 0) {
-                discount = orderTotal;
-            }
+    private CouponIndex.Rule findRule(String code) {
+        String normalized = CouponIndex.normalize(code);
+        CouponIndex.Rule rule = couponIndex.get(normalized);
+        if (rule != null) {
+            return rule;
+        }
+        if (!couponIndex.mightExist(normalized)) {
+            throw new ResourceNotFoundException("Coupon not found with code: " + code);
+        }
+        return couponRepository.findByCode(normalized)
+                .map(CouponIndex.Rule::compile)
+                .orElseThrow(() -> new ResourceNotFoundException("Coupon not found with code: " + code));
+    }
+    
+    private void checkUsable(CouponIndex.Rule rule, BigDecimal orderTotal, boolean checkUsage) {
+        if (!rule.active()) {
+            throw new BadRequestException("Coupon is not active");
+        }
+        
+        if (rule.isExpiredAt(LocalDateTime.now())) {
+            throw new BadRequestException("Coupon has expired");
+        }
+        
+        if (checkUsage && rule.usageCount() >= rule.usageLimit()) {
+            throw new BadRequestException("Coupon usage limit reached");
         }
         
-        return discount;
+        if (orderTotal.compareTo(rule.minPurchase()) < 0) {
+            throw new BadRequestException("Order total must be at least " + 
+                    rule.minPurchase() + " to use this coupon");
+        }
     }
     
     private CouponResponse mapToCouponResponse(Coupon coupon) {
@@ -195,14 +255,3 @@ public class CouponService {
                 .build();
     }
 }
-
-@lombok.Data
-@lombok.Builder
-@lombok.NoArgsConstructor
-@lombok.AllArgsConstructor
-class CouponValidationResponse {
-    private Boolean valid;
-    private BigDecimal discountAmount;
-    private String couponCode;
-    private String message;
-}
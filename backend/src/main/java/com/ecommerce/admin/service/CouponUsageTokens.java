@@ -0,0 +1,206 @@
+package com.ecommerce.admin.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coupon usages taken from coupons.usage_count without exceeding usage_limit.
+ *
+ * A coupon redeemed now and then takes each usage with one conditional
+ * UPDATE, so concurrent redemptions never go over the limit and never read
+ * the row first. A coupon whose usages run out within the hot window gets a
+ * block of usages reserved in one locked update, doubling up to the maximum
+ * block size while it stays hot, and hands them out from memory. Reserved
+ * usages count as used in the table until they are handed out or returned:
+ * unused ones go back when the coupon is changed, when its block sits idle
+ * and on shutdown. While a block still holds usages, the coupon's updated_at
+ * is touched on every idle check, so the expiry sweep (whose grace period is
+ * longer than that interval) never takes it for exhausted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CouponUsageTokens {
+
+    private static final String TAKE_ONE =
+            "UPDATE coupons SET usage_count = usage_count + 1, updated_at = NOW() " +
+            "WHERE id = ? AND is_active = TRUE AND expires_at > NOW() AND usage_count < usage_limit";
+
+    private static final String LOCK_USAGE =
+            "SELECT usage_count, usage_limit FROM coupons " +
+            "WHERE id = ? AND is_active = TRUE AND expires_at > NOW() FOR UPDATE";
+
+    private static final String TAKE_BLOCK =
+            "UPDATE coupons SET usage_count = usage_count + ?, updated_at = NOW() WHERE id = ?";
+
+    private static final String TOUCH_RESERVED =
+            "UPDATE coupons SET updated_at = NOW() WHERE id IN (:ids)";
+
+    private static final String GIVE_BACK =
+            "UPDATE coupons SET usage_count = GREATEST(usage_count - ?, 0), updated_at = NOW() WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponIndex couponIndex;
+
+    @Value("${app.coupons.redemption.max-block-size:64}")
+    private int maxBlockSize;
+
+    @Value("${app.coupons.redemption.hot-window-ms:1000}")
+    private long hotWindowMillis;
+
+    @Value("${app.coupons.redemption.idle-return-ms:10000}")
+    private long idleReturnMillis;
+
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Takes one usage of the coupon; false when it has none left or is no
+     * longer active and unexpired in the table.
+     */
+    public boolean take(CouponIndex.Rule coupon) {
+        while (true) {
+            Block block = blocks.computeIfAbsent(coupon.id(), key -> new Block());
+            synchronized (block) {
+                if (!block.retired) {
+                    return take(coupon, block);
+                }
+            }
+        }
+    }
+
+    private boolean take(CouponIndex.Rule coupon, Block block) {
+        long now = System.currentTimeMillis();
+        block.lastUsedAt = now;
+        if (block.available > 0) {
+            block.available--;
+            return true;
+        }
+
+        // Used up within the hot window: double the next block; otherwise back to one at a time
+        block.size = now - block.reservedAt <= hotWindowMillis ? Math.min(block.size * 2, maxBlockSize) : 1;
+        block.reservedAt = now;
+
+        int taken = block.size == 1 ? takeOne(coupon) : takeBlock(coupon, block.size);
+        if (taken == 0) {
+            block.size = 1;
+            return false;
+        }
+        block.available = taken - 1;
+        return true;
+    }
+
+    /**
+     * Gives the coupon's unused reserved usages back once the current
+     * transaction commits, so a changed limit or status applies to them.
+     */
+    public void giveBackAfterCommit(Long couponId) {
+        if (!blocks.containsKey(couponId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    giveBack(couponId);
+                }
+            });
+        } else {
+            giveBack(couponId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.coupons.redemption.idle-return-ms:10000}")
+    public void giveBackIdle() {
+        long cutoff = System.currentTimeMillis() - idleReturnMillis;
+        List<Long> reserved = new ArrayList<>();
+        for (Map.Entry<Long, Block> entry : blocks.entrySet()) {
+            Block block = entry.getValue();
+            synchronized (block) {
+                if (block.lastUsedAt < cutoff) {
+                    giveBack(entry.getKey(), block);
+                    // A taker still holding this block retries with a new one
+                    block.retired = true;
+                    blocks.remove(entry.getKey(), block);
+                } else if (block.available > 0) {
+                    reserved.add(entry.getKey());
+                }
+            }
+        }
+        if (!reserved.isEmpty()) {
+            namedParameterJdbcTemplate.update(TOUCH_RESERVED, new MapSqlParameterSource("ids", reserved));
+        }
+    }
+
+    @PreDestroy
+    void giveBackAll() {
+        for (Long couponId : blocks.keySet()) {
+            giveBack(couponId);
+        }
+    }
+
+    private int takeOne(CouponIndex.Rule coupon) {
+        return jdbcTemplate.update(TAKE_ONE, coupon.id());
+    }
+
+    private int takeBlock(CouponIndex.Rule coupon, int size) {
+        return transactionTemplate.execute(status -> {
+            List<int[]> usage = jdbcTemplate.query(LOCK_USAGE,
+                    (rs, rowNum) -> new int[] { rs.getInt("usage_count"), rs.getInt("usage_limit") }, coupon.id());
+            if (usage.isEmpty()) {
+                return 0;
+            }
+            int used = usage.get(0)[0];
+            int taken = Math.max(Math.min(size, usage.get(0)[1] - used), 0);
+            if (taken > 0) {
+                jdbcTemplate.update(TAKE_BLOCK, taken, coupon.id());
+                couponIndex.recordUsage(coupon.code(), used + taken);
+                log.debug("Reserved {} usages of coupon {}", taken, coupon.code());
+            }
+            return taken;
+        });
+    }
+
+    private void giveBack(Long couponId) {
+        Block block = blocks.get(couponId);
+        if (block != null) {
+            synchronized (block) {
+                giveBack(couponId, block);
+            }
+        }
+    }
+
+    // Called holding the block's monitor
+    private void giveBack(Long couponId, Block block) {
+        if (block.available > 0) {
+            jdbcTemplate.update(GIVE_BACK, block.available, couponId);
+            log.debug("Returned {} unused usages of coupon {}", block.available, couponId);
+            block.available = 0;
+        }
+    }
+
+    private static final class Block {
+        // Guarded by the block's monitor
+        private int available;
+        private int size = 1;
+        private long reservedAt;
+        private long lastUsedAt;
+        private boolean retired;
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.model.CustomerStats;
+import com.ecommerce.admin.repository.ArchivedOrderRepository;
+import com.ecommerce.admin.repository.CustomerStatsRepository;
+import com.ecommerce.admin.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the customer_stats table. Cancelled orders are excluded, matching
+ * the revenue figures used by the dashboard and reports.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsService {
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    // Start of the last completed scheduled refresh; orders changed after it are picked up next
+    private volatile LocalDateTime lastRefreshStartedAt;
+
+    @Transactional(readOnly = true)
+    public CustomerStats getStats(Long userId) {
+        return customerStatsRepository.findById(userId)
+                .orElseGet(() -> {
+                    log.debug("No customer stats row for user {}, aggregating from orders", userId);
+                    return aggregate(userId);
+                });
+    }
+
+    @Transactional
+    public CustomerStats refresh(Long userId) {
+        CustomerStats stats = customerStatsRepository.save(aggregate(userId));
+        log.debug("Refreshed customer stats for user {}: orders={}, totalSpent={}",
+                userId, stats.getOrderCount(), stats.getTotalSpent());
+        return stats;
+    }
+
+    /**
+     * Recomputes the stats of every user whose orders changed since the
+     * previous run, and of users without a row, every few minutes so the rows
+     * trail the orders by at most one interval. The first run after startup
+     * recomputes every user, since changes made while down are unknown.
+     */
+    @Scheduled(fixedDelayString = "${app.customer-stats.refresh-interval-ms:300000}",
+            initialDelayString = "${app.customer-stats.initial-delay-ms:60000}")
+    @Transactional
+    public void refreshChanged() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        int rows = lastRefreshStartedAt != null
+                ? customerStatsRepository.refreshChangedSince(lastRefreshStartedAt)
+                : customerStatsRepository.refreshAll();
+        log.info("Refreshed customer stats changed since {} ({} rows affected)",
+                lastRefreshStartedAt != null ? lastRefreshStartedAt : "startup", rows);
+        lastRefreshStartedAt = startedAt;
+    }
+
+    private CustomerStats aggregate(Long userId) {
+        Object[] hot = orderRepository.aggregateCustomerStats(userId).get(0);
+        Object[] archived = archivedOrderRepository.aggregateCustomerStats(userId).get(0);
+
+        long orderCount = ((Number) hot[0]).longValue() + ((Number) archived[0]).longValue();
+        BigDecimal totalSpent = ((BigDecimal) hot[1]).add((BigDecimal) archived[1]);
+        BigDecimal averageOrderValue = orderCount > 0
+                ? totalSpent.divide(BigDecimal.valueOf(orderCount), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return CustomerStats.builder()
+                .userId(userId)
+                .orderCount(orderCount)
+                .totalSpent(totalSpent)
+                .averageOrderValue(averageOrderValue)
+                .firstOrderDate(earliest((LocalDateTime) archived[2], (LocalDateTime) hot[2]))
+                .lastOrderDate(latest((LocalDateTime) archived[3], (LocalDateTime) hot[3]))
+                .build();
+    }
+
+    private LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+
+    private LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
@@ -9,7 +9,6 @@ import com.ecommerce.admin.model.Product;
 import com.ecommerce.admin.model.enums.OrderStatus;
 import com.ecommerce.admin.model.enums.UserRole;
 import com.ecommerce.admin.repository.OrderRepository;
-import com.ecommerce.admin.repository.ProductRepository;
 import com.ecommerce.admin.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,7 +29,7 @@ public class DashboardService {
     
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
+    private final LowStockService lowStockService;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
@@ -113,7 +112,7 @@ public class DashboardService {
     }
     
     private List<ProductResponse> getLowStockProducts() {
-        List<Product> products = productRepository.findByStockQuantityLessThan(10);
+        List<Product> products = lowStockService.findLowStockProducts();
         
         List<ProductResponse> responses = new ArrayList<>();
         for (Product product : products) {
@@ -0,0 +1,86 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.model.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reserves id blocks from the id_generators rows Hibernate's table generators
+ * use, for rows inserted with plain JDBC. Without it such inserts would fall
+ * back to AUTO_INCREMENT and collide with blocks Hibernate has handed out.
+ *
+ * On startup each generator row is moved above the highest existing id of its
+ * table, which is the migration path from IDENTITY ids.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdBlockAllocator {
+
+    private static final String SELECT_FOR_UPDATE =
+            "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE +
+            " WHERE " + IdGenerators.NAME_COLUMN + " = ? FOR UPDATE";
+
+    private static final String CREATE =
+            "INSERT IGNORE INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " +
+            IdGenerators.VALUE_COLUMN + ") VALUES (?, 1)";
+
+    private static final String ADVANCE =
+            "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? " +
+            "WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+
+    // Injected so the schema update that creates id_generators has run first
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void alignWithExistingIds() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (Map.Entry<String, String> generator : IdGenerators.TABLES.entrySet()) {
+            jdbcTemplate.update(
+                    "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", " +
+                    IdGenerators.VALUE_COLUMN + ") " +
+                    "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + generator.getValue() + " " +
+                    "ON DUPLICATE KEY UPDATE " + IdGenerators.VALUE_COLUMN + " = GREATEST(" +
+                    IdGenerators.VALUE_COLUMN + ", VALUES(" + IdGenerators.VALUE_COLUMN + "))",
+                    generator.getKey());
+        }
+        log.info("Aligned {} id generators with existing ids", IdGenerators.TABLES.size());
+    }
+
+    /**
+     * Reserves count consecutive ids and returns the first; a generator seen
+     * for the first time starts at 1. The reservation commits on its own, so
+     * ids of a rolled-back insert are skipped, as with Hibernate's blocks.
+     */
+    public long allocate(String generator, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        return requiresNew.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Long.class, generator);
+            if (current.isEmpty()) {
+                jdbcTemplate.update(CREATE, generator);
+                current = jdbcTemplate.queryForList(SELECT_FOR_UPDATE, Long.class, generator);
+            }
+            long first = current.get(0);
+            jdbcTemplate.update(ADVANCE, first + count, generator);
+            return first;
+        });
+    }
+}
@@ -0,0 +1,249 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.model.IdempotencyRecord;
+import com.ecommerce.admin.repository.IdempotencyRecordRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a request at most once per idempotency scope (admin id + Idempotency-Key).
+ *
+ * Completed responses are kept in a bounded LRU map and in the idempotency_keys
+ * table, so retries after an eviction or a restart are still answered from the
+ * store. Before running, a request claims its scope with a pending row, so the
+ * primary key admits one execution across all instances. A duplicate that
+ * arrives while the first execution is still running waits for it (in memory
+ * on the same instance, by polling the row on another) instead of running the
+ * action again. A failed execution deletes its claim, so a retry runs again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${app.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.wait-seconds:30}")
+    private long waitSeconds;
+
+    // A claim older than this is taken to be abandoned by an instance that stopped mid-request
+    @Value("${app.idempotency.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Value("${app.idempotency.poll-ms:200}")
+    private long pollMillis;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private Map<String, StoredResponse> recent;
+
+    @PostConstruct
+    void init() {
+        recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the stored response for the scope, or runs the action and stores
+     * its outcome. Only successful (2xx) outcomes are stored; a failed first
+     * execution is reported to concurrent waiters but a later retry runs again.
+     */
+    public StoredResponse execute(String scopeKey, String fingerprint,
+                                  Callable<StoredResponse> action) throws Exception {
+        StoredResponse stored = lookup(scopeKey);
+        if (stored != null) {
+            return replay(scopeKey, stored, fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopeKey, execution);
+        if (running != null) {
+            log.debug("Waiting for in-flight request with idempotency scope {}", scopeKey);
+            return replay(scopeKey, await(running), fingerprint);
+        }
+
+        try {
+            // Another request may have completed between the lookup and claiming the scope
+            stored = claimOrAwait(scopeKey, fingerprint);
+            if (stored != null) {
+                execution.complete(stored);
+                return replay(scopeKey, stored, fingerprint);
+            }
+
+            StoredResponse response;
+            try {
+                response = action.call();
+            } catch (Exception e) {
+                releaseClaim(scopeKey);
+                throw e;
+            }
+            if (response.isSuccessful()) {
+                remember(scopeKey, response);
+            } else {
+                releaseClaim(scopeKey);
+            }
+            execution.complete(response);
+            return response;
+        } catch (Exception e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopeKey, execution);
+        }
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private StoredResponse lookup(String scopeKey) {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(ttlHours);
+
+        StoredResponse cached = recent.get(scopeKey);
+        if (cached != null) {
+            if (cached.getCreatedAt().isAfter(cutoff)) {
+                return cached;
+            }
+            recent.remove(scopeKey);
+        }
+
+        return idempotencyRecordRepository.findById(scopeKey)
+                .filter(record -> !Boolean.TRUE.equals(record.getPending()))
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> cache(scopeKey, record))
+                .orElse(null);
+    }
+
+    private StoredResponse cache(String scopeKey, IdempotencyRecord record) {
+        StoredResponse response = new StoredResponse(
+                record.getRequestFingerprint(),
+                record.getResponseStatus(),
+                record.getResponseBody(),
+                record.getCreatedAt());
+        recent.put(scopeKey, response);
+        return response;
+    }
+
+    /**
+     * Claims the scope in the database and returns null, or returns the
+     * response of the request that holds it once that completes. A claim
+     * released by a failed request is retried.
+     */
+    private StoredResponse claimOrAwait(String scopeKey, String fingerprint) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitSeconds * 1000;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            idempotencyRecordRepository.deleteStale(
+                    scopeKey, now.minusHours(ttlHours), now.minusSeconds(claimTimeoutSeconds));
+            if (idempotencyRecordRepository.claim(scopeKey, fingerprint, now) > 0) {
+                return null;
+            }
+
+            IdempotencyRecord record = idempotencyRecordRepository.findById(scopeKey).orElse(null);
+            if (record != null) {
+                if (!record.getRequestFingerprint().equals(fingerprint)) {
+                    throw new BadRequestException("Idempotency-Key has already been used for a different request");
+                }
+                if (!Boolean.TRUE.equals(record.getPending())) {
+                    return cache(scopeKey, record);
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new BadRequestException("A request with this Idempotency-Key is still being processed");
+            }
+            log.debug("Waiting for idempotency scope {} claimed by another instance", scopeKey);
+            Thread.sleep(pollMillis);
+        }
+    }
+
+    private void remember(String scopeKey, StoredResponse response) {
+        recent.put(scopeKey, response);
+        try {
+            if (idempotencyRecordRepository.complete(scopeKey, response.getStatus(), response.getBody()) == 0) {
+                // The claim timed out and was taken over; the record of that request wins
+                recent.remove(scopeKey, response);
+                log.warn("Idempotency claim for scope {} was lost before the response was stored", scopeKey);
+            }
+        } catch (Exception e) {
+            log.error("Failed to persist idempotency record for scope {}", scopeKey, e);
+        }
+    }
+
+    private void releaseClaim(String scopeKey) {
+        try {
+            idempotencyRecordRepository.releaseClaim(scopeKey);
+        } catch (Exception e) {
+            // The claim then lapses after the claim timeout
+            log.error("Failed to release idempotency claim for scope {}", scopeKey, e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) throws Exception {
+        try {
+            return running.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new BadRequestException("A request with this Idempotency-Key is still being processed");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private StoredResponse replay(String scopeKey, StoredResponse stored, String fingerprint) {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            throw new BadRequestException("Idempotency-Key has already been used for a different request");
+        }
+        log.info("Replaying stored response for idempotency scope {}", scopeKey);
+        return stored;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StoredResponse {
+        private String fingerprint;
+        private int status;
+        private String body;
+        private LocalDateTime createdAt;
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.request.BulkStockAdjustmentRequest;
+import com.ecommerce.admin.dto.request.BulkStockAdjustmentRequest.SkuDelta;
+import com.ecommerce.admin.dto.response.BulkStockAdjustmentResponse;
+import com.ecommerce.admin.event.StockChangedEvent;
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.exception.ResourceNotFoundException;
+import com.ecommerce.admin.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Applies stock changes as single conditional UPDATE statements, so concurrent
+ * adjustments never lose an update and stock can never go negative.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryService {
+
+    private static final String APPLY_DELTA_BY_SKU =
+            "UPDATE products SET " +
+            "in_stock = (COALESCE(stock_quantity, 0) + ?) > 0, " +
+            "stock_quantity = COALESCE(stock_quantity, 0) + ?, " +
+            "updated_at = NOW() " +
+            "WHERE sku = ? AND COALESCE(stock_quantity, 0) + ? >= 0";
+
+    private static final String SELECT_STOCK_BY_SKU =
+            "SELECT id, sku, stock_quantity FROM products WHERE sku IN (:skus)";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindStockStore writeBehindStockStore;
+
+    /**
+     * Adds the delta (negative to remove) to the product's stock and returns
+     * the new quantity.
+     */
+    @Transactional
+    public int applyDelta(Long productId, int delta) {
+        if (writeBehindStockStore.isEnabled()) {
+            int newQuantity = writeBehindStockStore.apply(productId, delta);
+            eventPublisher.publishEvent(new StockChangedEvent(productId, delta, newQuantity));
+            return newQuantity;
+        }
+        
+        int updated = productRepository.applyStockDelta(productId, delta);
+
+        Integer quantity = productRepository.findStockQuantity(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        int newQuantity = quantity != null ? quantity : 0;
+
+        if (updated == 0) {
+            throw new BadRequestException("Cannot remove more stock than available. Current stock: " + newQuantity);
+        }
+
+        eventPublisher.publishEvent(new StockChangedEvent(productId, delta, newQuantity));
+        log.info("Applied stock delta {} to product {}, new quantity: {}", delta, productId, newQuantity);
+
+        return newQuantity;
+    }
+
+    /**
+     * Stock quantity including changes not yet flushed in write-behind mode.
+     */
+    @Transactional(readOnly = true)
+    public int currentQuantity(Long productId) {
+        if (writeBehindStockStore.isEnabled()) {
+            return writeBehindStockStore.currentQuantity(productId);
+        }
+        Integer quantity = productRepository.findStockQuantity(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        return quantity != null ? quantity : 0;
+    }
+    
+    /**
+     * Live quantity to show instead of the stored one, or null when the stored
+     * value is current.
+     */
+    public Integer liveQuantity(Long productId) {
+        return writeBehindStockStore.isEnabled() ? writeBehindStockStore.liveQuantity(productId) : null;
+    }
+
+    /**
+     * Applies many SKU deltas in one JDBC batch. Entries that would drive stock
+     * negative or name an unknown SKU are reported as failed; with
+     * allOrNothing set, any failure rolls back the whole batch.
+     */
+    public BulkStockAdjustmentResponse applyBulk(BulkStockAdjustmentRequest request) {
+        List<SkuDelta> adjustments = request.getAdjustments();
+        boolean allOrNothing = Boolean.TRUE.equals(request.getAllOrNothing());
+        
+        if (writeBehindStockStore.isEnabled()) {
+            return applyBulkWriteBehind(adjustments, allOrNothing);
+        }
+
+        BulkStockAdjustmentResponse response = transactionTemplate.execute(status -> {
+            List<Object[]> batchArgs = new ArrayList<>(adjustments.size());
+            for (SkuDelta adjustment : adjustments) {
+                int delta = adjustment.getDelta();
+                batchArgs.add(new Object[] { delta, delta, adjustment.getSku(), delta });
+            }
+            int[] counts = jdbcTemplate.batchUpdate(APPLY_DELTA_BY_SKU, batchArgs);
+
+            Map<String, long[]> stockBySku = loadStock(adjustments);
+
+            List<BulkStockAdjustmentResponse.Result> results = new ArrayList<>(adjustments.size());
+            List<StockChangedEvent> events = new ArrayList<>();
+            int applied = 0;
+            for (int i = 0; i < adjustments.size(); i++) {
+                SkuDelta adjustment = adjustments.get(i);
+                long[] stock = stockBySku.get(adjustment.getSku());
+                boolean success = counts[i] > 0;
+
+                String message = null;
+                if (stock == null) {
+                    message = "Product not found with SKU: " + adjustment.getSku();
+                } else if (!success) {
+                    message = "Insufficient stock";
+                }
+
+                if (success) {
+                    applied++;
+                    events.add(new StockChangedEvent(stock[0], adjustment.getDelta(), (int) stock[1]));
+                }
+
+                results.add(BulkStockAdjustmentResponse.Result.builder()
+                        .sku(adjustment.getSku())
+                        .productId(stock != null ? stock[0] : null)
+                        .delta(adjustment.getDelta())
+                        .stockQuantity(stock != null ? (int) stock[1] : null)
+                        .success(success)
+                        .message(message)
+                        .build());
+            }
+
+            int failed = adjustments.size() - applied;
+            boolean rolledBack = allOrNothing && failed > 0;
+            if (rolledBack) {
+                status.setRollbackOnly();
+                for (BulkStockAdjustmentResponse.Result result : results) {
+                    if (result.isSuccess()) {
+                        result.setSuccess(false);
+                        result.setStockQuantity(null);
+                        result.setMessage("Rolled back");
+                    }
+                }
+            } else {
+                events.forEach(eventPublisher::publishEvent);
+            }
+
+            return BulkStockAdjustmentResponse.builder()
+                    .applied(rolledBack ? 0 : applied)
+                    .failed(failed)
+                    .rolledBack(rolledBack)
+                    .results(results)
+                    .build();
+        });
+
+        log.info("Bulk stock adjustment: {} applied, {} failed, rolledBack={}",
+                response.getApplied(), response.getFailed(), response.isRolledBack());
+
+        return response;
+    }
+
+    private BulkStockAdjustmentResponse applyBulkWriteBehind(List<SkuDelta> adjustments, boolean allOrNothing) {
+        Map<String, long[]> productsBySku = loadStock(adjustments);
+
+        List<BulkStockAdjustmentResponse.Result> results = new ArrayList<>(adjustments.size());
+        List<StockChangedEvent> events = new ArrayList<>();
+        for (SkuDelta adjustment : adjustments) {
+            long[] product = productsBySku.get(adjustment.getSku());
+            BulkStockAdjustmentResponse.Result result = BulkStockAdjustmentResponse.Result.builder()
+                    .sku(adjustment.getSku())
+                    .productId(product != null ? product[0] : null)
+                    .delta(adjustment.getDelta())
+                    .build();
+
+            if (product == null) {
+                result.setMessage("Product not found with SKU: " + adjustment.getSku());
+            } else {
+                try {
+                    int newQuantity = writeBehindStockStore.apply(product[0], adjustment.getDelta());
+                    result.setStockQuantity(newQuantity);
+                    result.setSuccess(true);
+                    events.add(new StockChangedEvent(product[0], adjustment.getDelta(), newQuantity));
+                } catch (BadRequestException e) {
+                    result.setMessage("Insufficient stock");
+                }
+            }
+            results.add(result);
+        }
+
+        int failed = adjustments.size() - events.size();
+        boolean rolledBack = allOrNothing && failed > 0;
+        if (rolledBack) {
+            // Compensate in reverse order. Undoing an addition can fail if the
+            // stock was consumed in the meantime; that entry stays applied.
+            for (int i = results.size() - 1; i >= 0; i--) {
+                BulkStockAdjustmentResponse.Result result = results.get(i);
+                if (!result.isSuccess()) {
+                    continue;
+                }
+                try {
+                    writeBehindStockStore.apply(result.getProductId(), -result.getDelta());
+                    result.setSuccess(false);
+                    result.setStockQuantity(null);
+                    result.setMessage("Rolled back");
+                } catch (BadRequestException e) {
+                    result.setMessage("Could not be rolled back: stock already consumed");
+                    eventPublisher.publishEvent(new StockChangedEvent(
+                            result.getProductId(), result.getDelta(), result.getStockQuantity()));
+                }
+            }
+        } else {
+            events.forEach(eventPublisher::publishEvent);
+        }
+
+        int applied = 0;
+        for (BulkStockAdjustmentResponse.Result result : results) {
+            if (result.isSuccess()) {
+                applied++;
+            }
+        }
+
+        log.info("Bulk stock adjustment (write-behind): {} applied, {} failed, rolledBack={}",
+                applied, failed, rolledBack);
+
+        return BulkStockAdjustmentResponse.builder()
+                .applied(applied)
+                .failed(failed)
+                .rolledBack(rolledBack)
+                .results(results)
+                .build();
+    }
+
+    // sku -> {id, stock quantity after the batch}
+    private Map<String, long[]> loadStock(List<SkuDelta> adjustments) {
+        Set<String> skus = new HashSet<>();
+        for (SkuDelta adjustment : adjustments) {
+            skus.add(adjustment.getSku());
+        }
+
+        // Matches the database's case-insensitive SKU comparison
+        Map<String, long[]> stockBySku = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        namedParameterJdbcTemplate.query(SELECT_STOCK_BY_SKU, new MapSqlParameterSource("skus", skus), rs -> {
+            stockBySku.put(rs.getString("sku"), new long[] { rs.getLong("id"), rs.getLong("stock_quantity") });
+        });
+        return stockBySku;
+    }
+}
@@ -0,0 +1,151 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.event.StockChangedEvent;
+import com.ecommerce.admin.model.Product;
+import com.ecommerce.admin.model.User;
+import com.ecommerce.admin.model.enums.NotificationType;
+import com.ecommerce.admin.model.enums.UserRole;
+import com.ecommerce.admin.repository.ProductRepository;
+import com.ecommerce.admin.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Low-stock thresholds and alerts.
+ *
+ * The threshold of a product is its own, else its category's, else
+ * app.inventory.low-stock-threshold. Each committed stock change is checked
+ * for a downward crossing; crossings are held until the next flush, which
+ * drops products that recovered meanwhile and products alerted within the
+ * debounce window, and sends admins one notification for the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LowStockService {
+
+    private static final int MAX_LISTED_PRODUCTS = 10;
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.inventory.low-stock-threshold:10}")
+    private int defaultThreshold;
+
+    @Value("${app.inventory.low-stock-alerts.debounce-minutes:60}")
+    private long debounceMinutes;
+
+    // Product id -> effective threshold
+    private final Map<Long, Integer> thresholds = new ConcurrentHashMap<>();
+    // Product id -> latest quantity, for crossings not yet alerted
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    // Product id -> time of its last alert
+    private final Map<Long, Long> lastAlerted = new ConcurrentHashMap<>();
+
+    @Transactional(readOnly = true)
+    public List<Product> findLowStockProducts() {
+        return productRepository.findLowStock(defaultThreshold);
+    }
+
+    public int thresholdFor(Long productId) {
+        return thresholds.computeIfAbsent(productId, id ->
+                productRepository.findLowStockThreshold(id).orElse(defaultThreshold));
+    }
+
+    public void thresholdChanged(Long productId) {
+        thresholds.remove(productId);
+    }
+
+    public void categoryThresholdChanged() {
+        thresholds.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        Long productId = event.getProductId();
+        int threshold = thresholdFor(productId);
+        int quantity = event.getNewQuantity();
+
+        if (quantity >= threshold) {
+            pending.remove(productId);
+        } else if (event.getPreviousQuantity() >= threshold || pending.containsKey(productId)) {
+            pending.put(productId, quantity);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.low-stock-alerts.flush-interval-ms:60000}")
+    public void sendAlerts() {
+        long now = System.currentTimeMillis();
+        long debounceMillis = debounceMinutes * 60_000;
+        lastAlerted.values().removeIf(alertedAt -> now - alertedAt >= debounceMillis);
+
+        Map<Long, Integer> crossed = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : pending.entrySet()) {
+            // A quantity changed meanwhile stays pending for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())
+                    && lastAlerted.putIfAbsent(entry.getKey(), now) == null) {
+                crossed.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (crossed.isEmpty()) {
+            return;
+        }
+
+        List<Product> products = productRepository.findAllById(crossed.keySet());
+        if (products.isEmpty()) {
+            return;
+        }
+
+        String title;
+        StringBuilder message = new StringBuilder();
+        Long referenceId = null;
+        if (products.size() == 1) {
+            Product product = products.get(0);
+            title = "Low stock: " + product.getName();
+            message.append(describe(product, crossed.get(product.getId())));
+            referenceId = product.getId();
+        } else {
+            title = products.size() + " products are low on stock";
+            for (int i = 0; i < Math.min(products.size(), MAX_LISTED_PRODUCTS); i++) {
+                Product product = products.get(i);
+                message.append(describe(product, crossed.get(product.getId()))).append('\n');
+            }
+            if (products.size() > MAX_LISTED_PRODUCTS) {
+                message.append("and ").append(products.size() - MAX_LISTED_PRODUCTS).append(" more");
+            }
+        }
+
+        List<User> admins = new ArrayList<>(userRepository.findByRole(UserRole.ADMIN));
+        admins.addAll(userRepository.findByRole(UserRole.SUPER_ADMIN));
+
+        Long productReference = referenceId;
+        String body = message.toString().trim();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User admin : admins) {
+                notificationService.createNotification(admin.getId(), NotificationType.LOW_STOCK,
+                        title, body, productReference, productReference != null ? "PRODUCT" : null);
+            }
+        });
+
+        log.info("Sent low stock alert for {} products to {} admins", products.size(), admins.size());
+    }
+
+    private String describe(Product product, int quantity) {
+        return String.format("%s (%s): %d left, threshold %d",
+                product.getName(), product.getSku(), quantity, thresholdFor(product.getId()));
+    }
+}
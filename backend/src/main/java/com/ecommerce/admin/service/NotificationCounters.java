@@ -0,0 +1,111 @@
+package com.ecommerce.admin.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread notification counts per user, so polling the count needs no query.
+ *
+ * Each change to a user's unread notifications adjusts their row of
+ * notification_counters in the same transaction and the in-memory count
+ * after commit. The counts are reloaded from the rows periodically, which
+ * picks up changes committed by other instances, and the rows are
+ * recomputed from the notifications on startup and nightly.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCounters {
+
+    private static final String ADJUST_UP =
+            "INSERT INTO notification_counters (user_id, unread_count, updated_at) VALUES (?, ?, NOW()) " +
+            "ON DUPLICATE KEY UPDATE unread_count = unread_count + VALUES(unread_count), updated_at = NOW()";
+
+    // Never below zero, so a missed increment cannot leave a negative count until the reconcile
+    private static final String ADJUST_DOWN =
+            "INSERT INTO notification_counters (user_id, unread_count, updated_at) VALUES (?, 0, NOW()) " +
+            "ON DUPLICATE KEY UPDATE unread_count = GREATEST(unread_count - ?, 0), updated_at = NOW()";
+
+    private static final String RECOUNT =
+            "INSERT INTO notification_counters (user_id, unread_count, updated_at) " +
+            "SELECT user_id, COUNT(*), NOW() FROM notifications WHERE is_read = FALSE GROUP BY user_id " +
+            "ON DUPLICATE KEY UPDATE unread_count = VALUES(unread_count), updated_at = NOW()";
+
+    private static final String ZERO_WITHOUT_UNREAD =
+            "UPDATE notification_counters c SET c.unread_count = 0, c.updated_at = NOW() " +
+            "WHERE c.unread_count <> 0 AND NOT EXISTS " +
+            "(SELECT 1 FROM notifications n WHERE n.user_id = c.user_id AND n.is_read = FALSE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+
+    public long unreadCount(Long userId) {
+        AtomicLong count = counts.get(userId);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Adjusts the user's row in the current transaction and their in-memory
+     * count once it commits.
+     */
+    public void adjust(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (delta > 0) {
+            jdbcTemplate.update(ADJUST_UP, userId, delta);
+        } else {
+            jdbcTemplate.update(ADJUST_DOWN, userId, -delta);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjustInMemory(userId, delta);
+                }
+            });
+        } else {
+            adjustInMemory(userId, delta);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.counters.refresh-ms:60000}",
+            initialDelayString = "${app.notifications.counters.refresh-ms:60000}")
+    public void refresh() {
+        Map<Long, AtomicLong> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT user_id, unread_count FROM notification_counters WHERE unread_count > 0",
+                rs -> {
+                    loaded.put(rs.getLong("user_id"), new AtomicLong(rs.getLong("unread_count")));
+                });
+        counts = loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.notifications.counters.reconcile-cron:0 55 3 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.update(RECOUNT);
+        int zeroed = jdbcTemplate.update(ZERO_WITHOUT_UNREAD);
+        refresh();
+        log.info("Recounted unread notifications for {} users ({} cleared) in {}ms",
+                counts.size(), zeroed, System.currentTimeMillis() - start);
+    }
+
+    private void adjustInMemory(Long userId, long delta) {
+        counts.computeIfAbsent(userId, key -> new AtomicLong())
+                .updateAndGet(count -> Math.max(count + delta, 0));
+    }
+}
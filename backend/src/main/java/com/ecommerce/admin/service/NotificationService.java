@@ -20,6 +20,7 @@ import java.util.List;
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
+    private final NotificationCounters notificationCounters;
     
     @Transactional
     public void createNotification(Long userId, NotificationType type, String title, 
@@ -35,6 +36,7 @@ public class NotificationService {
                 .build();
         
         notificationRepository.save(notification);
+        notificationCounters.adjust(userId, 1);
         log.info("Notification created for user {}: {}", userId, title);
     }
     
@@ -50,9 +52,8 @@ public class NotificationService {
         return responses;
     }
     
-    @Transactional(readOnly = true)
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countByUserIdAndIsRead(userId, false);
+        return notificationCounters.unreadCount(userId);
     }
     
     @Transactional
@@ -60,23 +61,16 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
         
-        notification.setIsRead(true);
-        notification.setReadAt(LocalDateTime.now());
-        notificationRepository.save(notification);
+        if (notificationRepository.markRead(notificationId, LocalDateTime.now()) > 0) {
+            notificationCounters.adjust(notification.getUserId(), -1);
+        }
     }
     
     @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> notifications = notificationRepository
-                .findByUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
-        
-        for (Notification notification : notifications) {
-            notification.setIsRead(true);
-            notification.setReadAt(LocalDateTime.now());
-        }
-        
-        notificationRepository.saveAll(notifications);
-        log.info("Marked {} notifications as read for user {}", notifications.size(), userId);
+        int marked = notificationRepository.markAllRead(userId, LocalDateTime.now());
+        notificationCounters.adjust(userId, -marked);
+        log.info("Marked {} notifications as read for user {}", marked, userId);
     }
     
     private NotificationResponse mapToResponse(Notification notification) {
@@ -0,0 +1,191 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.repository.ArchivedOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves closed orders (DELIVERED, CANCELLED, REFUNDED) older than the retention
+ * window, together with their items and status history, into the *_archive
+ * tables so the hot tables and their indexes stay small.
+ *
+ * Readers call {@link #covers(LocalDateTime)} / the archive repositories to
+ * decide whether a date range or an order id has to be served from the archive.
+ * The archive horizon is re-read periodically so every instance sees runs made
+ * by the others, and a run holds a database lock so only one instance archives
+ * at a time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveService {
+
+    private static final String SELECT_ARCHIVABLE_IDS =
+            "SELECT id FROM orders " +
+            "WHERE status IN ('DELIVERED', 'CANCELLED', 'REFUNDED') AND created_at < :cutoff " +
+            "ORDER BY id LIMIT :limit";
+
+    private static final String COPY_ITEMS =
+            "INSERT INTO order_items_archive " +
+            "(id, order_id, product_id, quantity, price, subtotal, discount, total, size, color) " +
+            "SELECT id, order_id, product_id, quantity, price, subtotal, discount, total, size, color " +
+            "FROM order_items WHERE order_id IN (:ids)";
+
+    private static final String COPY_HISTORY =
+            "INSERT INTO order_status_history_archive " +
+            "(id, order_id, old_status, new_status, changed_by, notes, created_at) " +
+            "SELECT id, order_id, old_status, new_status, changed_by, notes, created_at " +
+            "FROM order_status_history WHERE order_id IN (:ids)";
+
+    private static final String COPY_ORDERS =
+            "INSERT INTO orders_archive " +
+            "(id, user_id, order_number, status, payment_method, shipping_address_id, subtotal, shipping, " +
+            "discount, total, coupon_code, order_date, delivered_date, notes, created_at, updated_at, archived_at) " +
+            "SELECT id, user_id, order_number, status, payment_method, shipping_address_id, subtotal, shipping, " +
+            "discount, total, coupon_code, order_date, delivered_date, notes, created_at, updated_at, NOW() " +
+            "FROM orders WHERE id IN (:ids)";
+
+    private static final String ARCHIVE_LOCK = "order_archive";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    @Value("${app.orders.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.orders.archive.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${app.orders.archive.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Newest created_at present in the archive; null while the archive is empty
+    private volatile LocalDateTime archiveHorizon;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.orders.archive.horizon-refresh-ms:60000}",
+            initialDelayString = "${app.orders.archive.horizon-refresh-ms:60000}")
+    public void loadArchiveHorizon() {
+        LocalDateTime horizon = archivedOrderRepository.findLatestCreatedAt();
+        if (horizon != null && !horizon.equals(archiveHorizon)) {
+            log.info("Order archive horizon: {}", horizon);
+        }
+        archiveHorizon = horizon;
+    }
+
+    /**
+     * Whether reads starting at the given instant may need archived rows.
+     */
+    public boolean covers(LocalDateTime startDate) {
+        LocalDateTime horizon = archiveHorizon;
+        return horizon != null && !startDate.isAfter(horizon);
+    }
+
+    public boolean hasArchivedOrders() {
+        return archiveHorizon != null;
+    }
+
+    @Scheduled(cron = "${app.orders.archive.cron:0 0 2 * * *}")
+    public void archiveClosedOrders() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Order archival already running, skipping this trigger");
+            return;
+        }
+
+        try {
+            // The named lock belongs to this connection's session, which is held for the whole run
+            jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+                if (!acquireLock(connection)) {
+                    log.info("Order archival is running on another instance, skipping this trigger");
+                    return null;
+                }
+                try {
+                    archiveBeforeCutoff();
+                } finally {
+                    releaseLock(connection);
+                }
+                return null;
+            });
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void archiveBeforeCutoff() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(retentionMonths);
+        long archived = 0;
+        int moved;
+        do {
+            Integer count = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            moved = count != null ? count : 0;
+            archived += moved;
+        } while (moved == batchSize);
+
+        loadArchiveHorizon();
+        log.info("Archived {} closed orders created before {}", archived, cutoff);
+    }
+
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            ps.setString(1, ARCHIVE_LOCK);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, ARCHIVE_LOCK);
+            ps.execute();
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                SELECT_ARCHIVABLE_IDS + " FOR UPDATE",
+                new MapSqlParameterSource()
+                        .addValue("cutoff", cutoff)
+                        .addValue("limit", batchSize),
+                Long.class);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(COPY_ITEMS, params);
+        jdbcTemplate.update(COPY_HISTORY, params);
+        jdbcTemplate.update(COPY_ORDERS, params);
+
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM order_status_history WHERE order_id IN (:ids)", params);
+        jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+
+        log.debug("Archived order chunk {}..{}", ids.get(0), ids.get(ids.size() - 1));
+        return ids.size();
+    }
+}
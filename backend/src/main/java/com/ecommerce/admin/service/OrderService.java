@@ -7,7 +7,6 @@ import com.ecommerce.admin.exception.BadRequestException;
 import com.ecommerce.admin.exception.ResourceNotFoundException;
 import com.ecommerce.admin.model.*;
 import com.ecommerce.admin.model.enums.OrderStatus;
-import com.ecommerce.admin.model.enums.RefundStatus;
 import com.ecommerce.admin.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,7 +29,10 @@ public class OrderService {
     
     private final OrderRepository orderRepository;
     private final OrderStatusHistoryRepository statusHistoryRepository;
-    private final OrderRefundRepository refundRepository;
+    private final OrderStateMachine orderStateMachine;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final ArchivedOrderStatusHistoryRepository archivedStatusHistoryRepository;
     
     @Transactional(readOnly = true)
     public PageResponse<OrderResponse> getOrders(
@@ -63,8 +65,16 @@ public class OrderService {
     
     @Transactional(readOnly = true)
     public OrderDetailResponse getOrderDetails(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        Order order = orderRepository.findById(orderId).orElse(null);
+        
+        if (order == null) {
+            ArchivedOrder archivedOrder = archivedOrderRepository.findWithDetailsById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+            
+            log.info("Retrieved archived order details for order: {}", archivedOrder.getOrderNumber());
+            
+            return mapToOrderDetailResponse(archivedOrder);
+        }
         
         log.info("Retrieved order details for order: {}", order.getOrderNumber());
         
@@ -73,35 +83,14 @@ public class OrderService {
     
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, OrderStatusUpdateRequest request, Long adminId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        Order order = findActiveOrder(orderId);
         
         OrderStatus oldStatus = order.getStatus();
         OrderStatus newStatus = request.getStatus();
         
-        if (oldStatus == newStatus) {
-            throw new BadRequestException("Order is already in " + newStatus + " status");
-        }
-        
-        validateStatusTransition(oldStatus, newStatus);
-        
-        order.setStatus(newStatus);
-        
-        if (newStatus == OrderStatus.DELIVERED) {
-            order.setDeliveredDate(LocalDateTime.now());
-        }
-        
+        orderStateMachine.transition(order, newStatus, adminId, request.getNotes());
         orderRepository.save(order);
         
-        OrderStatusHistory history = OrderStatusHistory.builder()
-                .orderId(orderId)
-                .oldStatus(oldStatus)
-                .newStatus(newStatus)
-                .changedBy(adminId)
-                .notes(request.getNotes())
-                .build();
-        statusHistoryRepository.save(history);
-        
         log.info("Order {} status updated from {} to {} by admin {}", 
                 order.getOrderNumber(), oldStatus, newStatus, adminId);
         
@@ -110,42 +99,11 @@ public class OrderService {
     
     @Transactional
     public void processRefund(Long orderId, RefundRequest request, Long adminId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        Order order = findActiveOrder(orderId);
         
-        if (order.getStatus() != OrderStatus.DELIVERED && order.getStatus() != OrderStatus.SHIPPED) {
-            throw new BadRequestException("Can only refund delivered or shipped orders");
-        }
-        
-        if (request.getRefundAmount().compareTo(order.getTotal()) > 0) {
-            throw new BadRequestException("Refund amount cannot exceed order total");
-        }
-        
-        refundRepository.findByOrderId(orderId).ifPresent(existingRefund -> {
-            throw new BadRequestException("Refund request already exists for this order");
-        });
-        
-        OrderRefund refund = OrderRefund.builder()
-                .orderId(orderId)
-                .refundAmount(request.getRefundAmount())
-                .reason(request.getReason())
-                .status(RefundStatus.APPROVED)
-                .processedBy(adminId)
-                .build();
-        refundRepository.save(refund);
-        
-        order.setStatus(OrderStatus.REFUNDED);
+        orderStateMachine.refund(order, request.getRefundAmount(), request.getReason(), adminId);
         orderRepository.save(order);
         
-        OrderStatusHistory history = OrderStatusHistory.builder()
-                .orderId(orderId)
-                .oldStatus(order.getStatus())
-                .newStatus(OrderStatus.REFUNDED)
-                .changedBy(adminId)
-                .notes("Refund processed: " + request.getReason())
-                .build();
-        statusHistoryRepository.save(history);
-        
         log.info("Refund processed for order {} by admin {}, amount: {}", 
                 order.getOrderNumber(), adminId, request.getRefundAmount());
     }
@@ -153,7 +111,10 @@ public class OrderService {
     @Transactional(readOnly = true)
     public List<OrderStatusHistoryResponse> getOrderTimeline(Long orderId) {
         if (!orderRepository.existsById(orderId)) {
-            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+            if (!archivedOrderRepository.existsById(orderId)) {
+                throw new ResourceNotFoundException("Order not found with id: " + orderId);
+            }
+            return getArchivedOrderTimeline(orderId);
         }
         
         List<OrderStatusHistory> history = statusHistoryRepository.findByOrderIdOrderByCreatedAtAsc(orderId);
@@ -176,15 +137,35 @@ public class OrderService {
         return responses;
     }
     
-    private void validateStatusTransition(OrderStatus oldStatus, OrderStatus newStatus) {
-        if (oldStatus == OrderStatus.CANCELLED || oldStatus == OrderStatus.REFUNDED) {
-            throw new BadRequestException("Cannot update status of cancelled or refunded orders");
-        }
+    private List<OrderStatusHistoryResponse> getArchivedOrderTimeline(Long orderId) {
+        List<ArchivedOrderStatusHistory> history =
+                archivedStatusHistoryRepository.findByOrderIdOrderByCreatedAtAsc(orderId);
         
-        if (newStatus == OrderStatus.CANCELLED && 
-            (oldStatus == OrderStatus.SHIPPED || oldStatus == OrderStatus.DELIVERED)) {
-            throw new BadRequestException("Cannot cancel shipped or delivered orders");
+        List<OrderStatusHistoryResponse> responses = new ArrayList<>();
+        for (ArchivedOrderStatusHistory record : history) {
+            responses.add(OrderStatusHistoryResponse.builder()
+                    .id(record.getId())
+                    .orderId(record.getOrderId())
+                    .oldStatus(record.getOldStatus())
+                    .newStatus(record.getNewStatus())
+                    .changedBy(record.getChangedBy())
+                    .notes(record.getNotes())
+                    .createdAt(record.getCreatedAt())
+                    .build());
         }
+        
+        log.info("Retrieved archived timeline for order id: {}, {} entries", orderId, responses.size());
+        
+        return responses;
+    }
+    
+    private Order findActiveOrder(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow(() -> {
+            if (archivedOrderRepository.existsById(orderId)) {
+                return new BadRequestException("Order " + orderId + " is archived and can no longer be modified");
+            }
+            return new ResourceNotFoundException("Order not found with id: " + orderId);
+        });
     }
     
     private OrderResponse mapToOrderResponse(Order order) {
@@ -270,6 +251,70 @@ public class OrderService {
                 .updatedAt(order.getUpdatedAt())
                 .build();
     }
+    
+    private OrderDetailResponse mapToOrderDetailResponse(ArchivedOrder order) {
+        User user = order.getUser();
+        UserResponse customerResponse = UserResponse.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .mobile(user.getMobile())
+                .role(user.getRole().name())
+                .isActive(user.getIsActive())
+                .profileImage(user.getProfileImage())
+                .lastLogin(user.getLastLogin())
+                .createdAt(user.getCreatedAt())
+                .build();
+        
+        Address shippingAddr = order.getShippingAddress();
+        AddressResponse addressResponse = AddressResponse.builder()
+                .id(shippingAddr.getId())
+                .fullName(shippingAddr.getFullName())
+                .mobile(shippingAddr.getMobile())
+                .addressLine1(shippingAddr.getAddressLine1())
+                .addressLine2(shippingAddr.getAddressLine2())
+                .city(shippingAddr.getCity())
+                .state(shippingAddr.getState())
+                .zipCode(shippingAddr.getZipCode())
+                .country(shippingAddr.getCountry())
+                .build();
+        
+        List<OrderItemResponse> itemResponses = new ArrayList<>();
+        for (ArchivedOrderItem item : archivedOrderItemRepository.findByOrderIdWithProduct(order.getId())) {
+            itemResponses.add(OrderItemResponse.builder()
+                    .id(item.getId())
+                    .productId(item.getProduct().getId())
+                    .productName(item.getProduct().getName())
+                    .thumbnail(item.getProduct().getThumbnail())
+                    .quantity(item.getQuantity())
+                    .price(item.getPrice())
+                    .discount(item.getDiscount())
+                    .total(item.getTotal())
+                    .size(item.getSize())
+                    .color(item.getColor())
+                    .build());
+        }
+        
+        return OrderDetailResponse.builder()
+                .id(order.getId())
+                .orderNumber(order.getOrderNumber())
+                .status(order.getStatus())
+                .paymentMethod(order.getPaymentMethod())
+                .customer(customerResponse)
+                .shippingAddress(addressResponse)
+                .items(itemResponses)
+                .subtotal(order.getSubtotal())
+                .shipping(order.getShipping())
+                .discount(order.getDiscount())
+                .total(order.getTotal())
+                .couponCode(order.getCouponCode())
+                .notes(order.getNotes())
+                .orderDate(order.getOrderDate())
+                .deliveredDate(order.getDeliveredDate())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .build();
+    }
 }
 
 @lombok.Data
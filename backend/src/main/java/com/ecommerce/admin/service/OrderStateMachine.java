@@ -0,0 +1,224 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.model.Order;
+import com.ecommerce.admin.model.OrderRefund;
+import com.ecommerce.admin.model.OrderStatusHistory;
+import com.ecommerce.admin.model.enums.OrderStatus;
+import com.ecommerce.admin.model.enums.RefundStatus;
+import com.ecommerce.admin.repository.OrderRefundRepository;
+import com.ecommerce.admin.repository.OrderStatusHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single authority for order status changes.
+ *
+ * Allowed transitions are held as one bitmask of target ordinals per source
+ * status, so checking a transition is an array lookup and a bit test. The side
+ * effects of each allowed (from, to) pair are resolved once at startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStateMachine {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private static final int[] ALLOWED = new int[STATUSES.length];
+
+    static {
+        allow(OrderStatus.PENDING, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+                OrderStatus.CANCELLED);
+        allow(OrderStatus.PROCESSING, OrderStatus.PENDING, OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+                OrderStatus.CANCELLED);
+        allow(OrderStatus.SHIPPED, OrderStatus.PENDING, OrderStatus.PROCESSING, OrderStatus.DELIVERED,
+                OrderStatus.REFUNDED);
+        allow(OrderStatus.DELIVERED, OrderStatus.PENDING, OrderStatus.PROCESSING, OrderStatus.SHIPPED,
+                OrderStatus.REFUNDED);
+        // CANCELLED and REFUNDED are terminal
+    }
+
+    public enum Rejection {
+        NONE(null),
+        SAME_STATUS("Order is already in the requested status"),
+        TERMINAL("Cannot update status of cancelled or refunded orders"),
+        CANCEL_AFTER_SHIPMENT("Cannot cancel shipped or delivered orders"),
+        REFUND_BEFORE_SHIPMENT("Can only refund delivered or shipped orders"),
+        NOT_ALLOWED("Status transition is not allowed");
+
+        private final String message;
+
+        Rejection(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Details of one status change handed to the transition effects.
+     * Refund amount and reason are only set for refunds.
+     */
+    public record StatusChange(Order order, OrderStatus from, OrderStatus to, Long changedBy,
+                               String notes, BigDecimal refundAmount, String refundReason) {
+    }
+
+    @FunctionalInterface
+    interface TransitionEffect {
+        void apply(StatusChange change);
+    }
+
+    private final OrderStatusHistoryRepository statusHistoryRepository;
+    private final OrderRefundRepository refundRepository;
+    private final CustomerStatsService customerStatsService;
+
+    private final TransitionEffect[][][] effects = new TransitionEffect[STATUSES.length][STATUSES.length][];
+
+    @PostConstruct
+    void compileTransitions() {
+        for (OrderStatus from : STATUSES) {
+            for (OrderStatus to : STATUSES) {
+                if (isAllowed(from, to)) {
+                    effects[from.ordinal()][to.ordinal()] = compileEffects(from, to);
+                }
+            }
+        }
+    }
+
+    public static boolean isAllowed(OrderStatus from, OrderStatus to) {
+        return (ALLOWED[from.ordinal()] & (1 << to.ordinal())) != 0;
+    }
+
+    public static Rejection check(OrderStatus from, OrderStatus to) {
+        if (isAllowed(from, to)) {
+            return Rejection.NONE;
+        }
+        if (from == to) {
+            return Rejection.SAME_STATUS;
+        }
+        if (ALLOWED[from.ordinal()] == 0) {
+            return Rejection.TERMINAL;
+        }
+        if (to == OrderStatus.CANCELLED) {
+            return Rejection.CANCEL_AFTER_SHIPMENT;
+        }
+        if (to == OrderStatus.REFUNDED) {
+            return Rejection.REFUND_BEFORE_SHIPMENT;
+        }
+        return Rejection.NOT_ALLOWED;
+    }
+
+    /**
+     * Validates a batch of transitions into the caller-supplied result array
+     * and returns the number of rejected entries. Nothing is allocated per item.
+     */
+    public static int checkAll(OrderStatus[] from, OrderStatus[] to, Rejection[] results) {
+        if (from.length != to.length || results.length < from.length) {
+            throw new IllegalArgumentException("Transition arrays must have matching lengths");
+        }
+
+        int rejected = 0;
+        for (int i = 0; i < from.length; i++) {
+            Rejection rejection = check(from[i], to[i]);
+            results[i] = rejection;
+            if (rejection != Rejection.NONE) {
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Moves the order to the target status and runs the effects of that
+     * transition. The caller persists the order.
+     */
+    public void transition(Order order, OrderStatus to, Long changedBy, String notes) {
+        apply(new StatusChange(order, order.getStatus(), to, changedBy, notes, null, null));
+    }
+
+    public void refund(Order order, BigDecimal amount, String reason, Long changedBy) {
+        apply(new StatusChange(order, order.getStatus(), OrderStatus.REFUNDED, changedBy,
+                "Refund processed: " + reason, amount, reason));
+    }
+
+    private void apply(StatusChange change) {
+        Rejection rejection = check(change.from(), change.to());
+        if (rejection != Rejection.NONE) {
+            throw new BadRequestException(rejection == Rejection.SAME_STATUS
+                    ? "Order is already in " + change.to() + " status"
+                    : rejection.getMessage());
+        }
+
+        change.order().setStatus(change.to());
+        for (TransitionEffect effect : effects[change.from().ordinal()][change.to().ordinal()]) {
+            effect.apply(change);
+        }
+        log.debug("Order {} moved from {} to {}", change.order().getId(), change.from(), change.to());
+    }
+
+    private TransitionEffect[] compileEffects(OrderStatus from, OrderStatus to) {
+        List<TransitionEffect> compiled = new ArrayList<>();
+
+        if (to == OrderStatus.REFUNDED) {
+            compiled.add(this::recordRefund);
+        }
+        if (to == OrderStatus.DELIVERED) {
+            compiled.add(change -> change.order().setDeliveredDate(LocalDateTime.now()));
+        }
+        compiled.add(this::recordHistory);
+        if ((from == OrderStatus.CANCELLED) != (to == OrderStatus.CANCELLED) || to == OrderStatus.REFUNDED) {
+            compiled.add(change -> customerStatsService.refresh(change.order().getUser().getId()));
+        }
+
+        return compiled.toArray(new TransitionEffect[0]);
+    }
+
+    private void recordRefund(StatusChange change) {
+        Order order = change.order();
+        // A plain status change to REFUNDED books a full refund
+        BigDecimal amount = change.refundAmount() != null ? change.refundAmount() : order.getTotal();
+        String reason = change.refundReason() != null ? change.refundReason() : change.notes();
+
+        if (amount.compareTo(order.getTotal()) > 0) {
+            throw new BadRequestException("Refund amount cannot exceed order total");
+        }
+
+        refundRepository.findByOrderId(order.getId()).ifPresent(existingRefund -> {
+            throw new BadRequestException("Refund request already exists for this order");
+        });
+
+        refundRepository.save(OrderRefund.builder()
+                .orderId(order.getId())
+                .refundAmount(amount)
+                .reason(reason)
+                .status(RefundStatus.APPROVED)
+                .processedBy(change.changedBy())
+                .build());
+    }
+
+    private void recordHistory(StatusChange change) {
+        statusHistoryRepository.save(OrderStatusHistory.builder()
+                .orderId(change.order().getId())
+                .oldStatus(change.from())
+                .newStatus(change.to())
+                .changedBy(change.changedBy())
+                .notes(change.notes())
+                .build());
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... targets) {
+        for (OrderStatus to : targets) {
+            ALLOWED[from.ordinal()] |= 1 << to.ordinal();
+        }
+    }
+}
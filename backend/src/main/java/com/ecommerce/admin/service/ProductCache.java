@@ -0,0 +1,326 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.response.ProductResponse;
+import com.ecommerce.admin.event.StockChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of product details keyed by product id.
+ *
+ * Entries are kept in striped LRU segments. Concurrent misses for the same id
+ * share one load, and a hit close to expiry may refresh the entry early with a
+ * probability that grows as expiry nears and with how long the load took
+ * (XFetch), so a hot product is reloaded by one caller instead of by everyone
+ * at the moment it expires. Writes evict after commit; every eviction bumps the
+ * segment generation, so a load that started before the write is not stored.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCache {
+
+    private static final String CACHE_NAME = "products";
+    private static final int SEGMENTS = 16;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.products.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.products.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.products.cache.early-refresh-beta:1.0}")
+    private double beta;
+
+    private final Map<Long, CompletableFuture<ProductResponse>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private Segment[] segments;
+    private long ttlNanos;
+
+    @PostConstruct
+    void init() {
+        int perSegment = Math.max(maxSize / SEGMENTS, 1);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+
+        // Same meter names as Spring's cache metrics, so dashboards treat it like any other cache
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.puts", loads, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.refreshes.early", earlyRefreshes, LongAdder::sum)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, ProductCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached product, loading it when absent or expired. The
+     * loader's exceptions are rethrown to every caller waiting on it and
+     * nothing is cached.
+     */
+    public ProductResponse get(Long id, Supplier<ProductResponse> loader) {
+        Segment segment = segmentFor(id);
+        Entry entry = segment.get(id);
+        long now = System.nanoTime();
+
+        if (entry != null && now < entry.expiresAt) {
+            hits.increment();
+            if (shouldRefreshEarly(entry, now) && loading.get(id) == null) {
+                earlyRefreshes.increment();
+                try {
+                    return load(id, segment, loader);
+                } catch (RuntimeException e) {
+                    log.warn("Early refresh of product {} failed, serving cached copy", id, e);
+                }
+            }
+            return entry.value;
+        }
+
+        misses.increment();
+        return load(id, segment, loader);
+    }
+
+    /**
+     * Cached products for the given ids that are present and not expired.
+     */
+    public Map<Long, ProductResponse> getAllPresent(Collection<Long> ids) {
+        Map<Long, ProductResponse> present = new HashMap<>();
+        long now = System.nanoTime();
+        for (Long id : ids) {
+            Entry entry = segmentFor(id).get(id);
+            if (entry != null && now < entry.expiresAt) {
+                present.put(id, entry.value);
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        }
+        return present;
+    }
+
+    /**
+     * Snapshot of segment generations to pass to {@link #putAll} after
+     * loading products outside {@link #get}.
+     */
+    public long[] generations() {
+        long[] generations = new long[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            generations[i] = segments[i].generation();
+        }
+        return generations;
+    }
+
+    /**
+     * Stores products loaded by the caller, skipping any whose segment saw an
+     * eviction since the generations were taken.
+     */
+    public void putAll(List<ProductResponse> products, long[] generations, long loadNanos) {
+        long now = System.nanoTime();
+        for (ProductResponse product : products) {
+            int index = indexFor(product.getId());
+            if (segments[index].putIfGeneration(product.getId(),
+                    new Entry(product, loadNanos, now + ttlNanos), generations[index])) {
+                loads.increment();
+            }
+        }
+    }
+
+    public void evict(Long id) {
+        if (segmentFor(id).remove(id)) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Evicts once the current transaction commits, or right away without one.
+     */
+    public void evictAfterCommit(Long id) {
+        afterCommit(() -> evict(id));
+    }
+
+    public void clearAfterCommit() {
+        afterCommit(this::clear);
+    }
+
+    public void clear() {
+        boolean cleared = false;
+        for (Segment segment : segments) {
+            cleared |= segment.clear();
+        }
+        if (cleared) {
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        evict(event.getProductId());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private ProductResponse load(Long id, Segment segment, Supplier<ProductResponse> loader) {
+        CompletableFuture<ProductResponse> future = new CompletableFuture<>();
+        CompletableFuture<ProductResponse> existing = loading.putIfAbsent(id, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            long generation = segment.generation();
+            long start = System.nanoTime();
+            ProductResponse value = loader.get();
+            long end = System.nanoTime();
+
+            if (segment.putIfGeneration(id, new Entry(value, end - start, end + ttlNanos), generation)) {
+                loads.increment();
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, future);
+        }
+    }
+
+    // XFetch: refresh when now - delta * beta * ln(rand) >= expiry
+    private boolean shouldRefreshEarly(Entry entry, long now) {
+        double gap = -entry.loadNanos * beta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return now + gap >= entry.expiresAt;
+    }
+
+    private static ProductResponse join(CompletableFuture<ProductResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Segment segmentFor(Long id) {
+        return segments[indexFor(id)];
+    }
+
+    private static int indexFor(Long id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (SEGMENTS - 1);
+    }
+
+    private record Entry(ProductResponse value, long loadNanos, long expiresAt) {
+    }
+
+    private static final class Segment {
+        private final LinkedHashMap<Long, Entry> entries;
+        private long generation;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized Entry get(Long id) {
+            return entries.get(id);
+        }
+
+        synchronized boolean putIfGeneration(Long id, Entry entry, long expectedGeneration) {
+            if (generation != expectedGeneration) {
+                return false;
+            }
+            entries.put(id, entry);
+            return true;
+        }
+
+        // The generation moves even when nothing was cached, so a load already in progress is discarded
+        synchronized boolean remove(Long id) {
+            generation++;
+            return entries.remove(id) != null;
+        }
+
+        synchronized boolean clear() {
+            generation++;
+            boolean hadEntries = !entries.isEmpty();
+            entries.clear();
+            return hadEntries;
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
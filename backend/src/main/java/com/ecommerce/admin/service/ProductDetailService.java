@@ -0,0 +1,123 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.response.ProductDetailResponse;
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.exception.ResourceNotFoundException;
+import com.ecommerce.admin.model.Product;
+import com.ecommerce.admin.repository.ProductFeatureRepository;
+import com.ecommerce.admin.repository.ProductImageRepository;
+import com.ecommerce.admin.repository.ProductRepository;
+import com.ecommerce.admin.repository.ProductReviewRepository;
+import com.ecommerce.admin.repository.ProductSizeRepository;
+import com.ecommerce.admin.repository.projection.ProductReviewRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full product details including images, sizes, features and reviews.
+ *
+ * Each child collection is read for a whole chunk of product ids with one
+ * IN query and grouped in memory, so a detail view costs five queries per
+ * chunk however many products it shows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ProductDetailService {
+
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+    private final ProductSizeRepository productSizeRepository;
+    private final ProductFeatureRepository productFeatureRepository;
+    private final ProductReviewRepository productReviewRepository;
+    private final ProductService productService;
+
+    @Value("${app.products.detail.max-ids:1000}")
+    private int maxIds;
+
+    @Value("${app.products.detail.chunk-size:500}")
+    private int chunkSize;
+
+    public ProductDetailResponse getProductDetail(Long id) {
+        List<ProductDetailResponse> details = getProductDetails(List.of(id));
+        if (details.isEmpty()) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        return details.get(0);
+    }
+
+    /**
+     * Details in the order the ids were given; unknown ids are skipped.
+     */
+    public List<ProductDetailResponse> getProductDetails(List<Long> ids) {
+        List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (uniqueIds.size() > maxIds) {
+            throw new BadRequestException("Cannot load more than " + maxIds + " products at once");
+        }
+
+        Map<Long, ProductDetailResponse> detailsById = new HashMap<>();
+        for (int from = 0; from < uniqueIds.size(); from += chunkSize) {
+            loadChunk(uniqueIds.subList(from, Math.min(from + chunkSize, uniqueIds.size())), detailsById);
+        }
+
+        List<ProductDetailResponse> details = new ArrayList<>(detailsById.size());
+        for (Long id : uniqueIds) {
+            ProductDetailResponse detail = detailsById.get(id);
+            if (detail != null) {
+                details.add(detail);
+            }
+        }
+
+        log.info("Loaded details for {} of {} requested products", details.size(), uniqueIds.size());
+        return details;
+    }
+
+    private void loadChunk(List<Long> ids, Map<Long, ProductDetailResponse> detailsById) {
+        List<Long> found = new ArrayList<>(ids.size());
+        for (Product product : productRepository.findAllWithCategoryByIdIn(ids)) {
+            detailsById.put(product.getId(), ProductDetailResponse.builder()
+                    .product(productService.mapToProductResponse(product))
+                    .images(new ArrayList<>())
+                    .sizes(new ArrayList<>())
+                    .features(new ArrayList<>())
+                    .reviews(new ArrayList<>())
+                    .build());
+            found.add(product.getId());
+        }
+        if (found.isEmpty()) {
+            return;
+        }
+
+        for (Object[] row : productImageRepository.findImageRows(found)) {
+            detailsById.get((Long) row[0]).getImages().add((String) row[1]);
+        }
+        for (Object[] row : productSizeRepository.findSizeRows(found)) {
+            detailsById.get((Long) row[0]).getSizes().add((String) row[1]);
+        }
+        for (Object[] row : productFeatureRepository.findFeatureRows(found)) {
+            detailsById.get((Long) row[0]).getFeatures().add((String) row[1]);
+        }
+        for (ProductReviewRow row : productReviewRepository.findReviewRows(found)) {
+            detailsById.get(row.getProductId()).getReviews().add(ProductDetailResponse.Review.builder()
+                    .id(row.getId())
+                    .userId(row.getUserId())
+                    .userName(row.getUserName())
+                    .rating(row.getRating())
+                    .reviewText(row.getReviewText())
+                    .isVerifiedPurchase(row.getIsVerifiedPurchase())
+                    .isApproved(row.getIsApproved())
+                    .createdAt(row.getCreatedAt())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.response.CategoryResponse;
+import com.ecommerce.admin.dto.response.ProductFacetsResponse;
+import com.ecommerce.admin.dto.response.ProductFacetsResponse.CategoryFacet;
+import com.ecommerce.admin.event.StockChangedEvent;
+import com.ecommerce.admin.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Category and stock facet counts for the product listing.
+ *
+ * Counts come from one aggregation per search: a category x stock-state
+ * matrix, taken from the search index when it is ready and from a single
+ * GROUP BY otherwise. Each facet ignores its own filter, so the category
+ * counts still show the other categories once one is selected. The matrix
+ * of the unfiltered catalog is cached until a product changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFacetService {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryService categoryService;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedCounts unfilteredCounts;
+
+    public ProductFacetsResponse getFacets(Long categoryId, String search, Boolean inStock) {
+        Map<Long, long[]> counts = search != null && !search.isBlank()
+                ? countFacets(search)
+                : getUnfilteredCounts();
+
+        Map<Long, String> categoryNames = new HashMap<>();
+        for (CategoryResponse category : categoryService.getAllCategories()) {
+            categoryNames.put(category.getId(), category.getName());
+        }
+
+        List<CategoryFacet> categories = new ArrayList<>();
+        long inStockCount = 0;
+        long outOfStockCount = 0;
+        long total = 0;
+        for (Map.Entry<Long, long[]> entry : counts.entrySet()) {
+            long[] byStock = entry.getValue();
+            long count = inStock == null ? byStock[0] + byStock[1] : byStock[inStock ? 1 : 0];
+            if (count > 0 && entry.getKey() != null) {
+                categories.add(CategoryFacet.builder()
+                        .categoryId(entry.getKey())
+                        .categoryName(categoryNames.get(entry.getKey()))
+                        .count(count)
+                        .build());
+            }
+
+            if (categoryId == null || categoryId.equals(entry.getKey())) {
+                outOfStockCount += byStock[0];
+                inStockCount += byStock[1];
+                total += count;
+            }
+        }
+
+        categories.sort(Comparator.comparingLong(CategoryFacet::getCount).reversed()
+                .thenComparing(CategoryFacet::getCategoryName, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return ProductFacetsResponse.builder()
+                .categories(categories)
+                .inStock(inStockCount)
+                .outOfStock(outOfStockCount)
+                .total(total)
+                .build();
+    }
+
+    /**
+     * Drops the cached unfiltered counts once the current transaction commits.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if ((event.getPreviousQuantity() > 0) != (event.getNewQuantity() > 0)) {
+            invalidate();
+        }
+    }
+
+    private Map<Long, long[]> getUnfilteredCounts() {
+        // Stamped with the generation read before loading, so counts loaded
+        // across an invalidation are never taken as current
+        long current = generation.get();
+        CachedCounts cached = unfilteredCounts;
+        if (cached != null && cached.generation() == current) {
+            return cached.counts();
+        }
+
+        Map<Long, long[]> counts = countFacets(null);
+        unfilteredCounts = new CachedCounts(current, counts);
+        log.debug("Computed unfiltered product facet counts for {} categories", counts.size());
+        return counts;
+    }
+
+    private Map<Long, long[]> countFacets(String search) {
+        if (productSearchIndex.isReady()) {
+            return productSearchIndex.facetCounts(search);
+        }
+
+        Map<Long, long[]> counts = new HashMap<>();
+        for (Object[] row : productRepository.countFacets(search)) {
+            boolean rowInStock = Boolean.TRUE.equals(row[1]);
+            counts.computeIfAbsent((Long) row[0], key -> new long[2])[rowInStock ? 1 : 0] += (Long) row[2];
+        }
+        return counts;
+    }
+
+    // categoryId -> {out of stock, in stock}
+    private record CachedCounts(long generation, Map<Long, long[]> counts) {
+    }
+}
@@ -0,0 +1,481 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.response.ProductImportResponse;
+import com.ecommerce.admin.dto.response.ProductImportResponse.RowError;
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.model.Category;
+import com.ecommerce.admin.model.IdGenerators;
+import com.ecommerce.admin.repository.CategoryRepository;
+import com.ecommerce.admin.repository.ProductRepository;
+import com.ecommerce.admin.util.CsvReader;
+import com.ecommerce.admin.util.ValidationUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk product import from CSV (with a header row) or NDJSON.
+ *
+ * The upload is read as a stream; categories and existing SKUs are preloaded
+ * into maps so rows are validated without queries, and valid rows are written
+ * with JDBC batch inserts, one transaction per chunk. A failing chunk is rolled
+ * back and reported without stopping the rest of the import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (id, name, sku, description, price, discount_price, category_id, " +
+            "stock_quantity, stock_count, in_stock, thumbnail, rating, reviews, rating_sum, is_active, " +
+            "meta_description, meta_keywords, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, 0, 0, 0, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetService productFacetService;
+    private final ObjectMapper objectMapper;
+    private final IdBlockAllocator idBlockAllocator;
+    private final SkuAllocator skuAllocator;
+    private final CategoryProductCounts categoryProductCounts;
+
+    @Value("${app.products.import.batch-size:1000}")
+    private int batchSize;
+
+    public ProductImportResponse importProducts(MultipartFile file, String format) {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("Import file is empty");
+        }
+
+        boolean ndjson = isNdjson(file, format);
+        ImportRun run = new ImportRun();
+        long start = System.currentTimeMillis();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            Iterator<SourceRow> rows = ndjson ? ndjsonRows(reader) : csvRows(reader);
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+
+            while (rows.hasNext()) {
+                SourceRow source = rows.next();
+                run.totalRows++;
+
+                ImportRow row = parse(source, run);
+                if (row == null) {
+                    continue;
+                }
+
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    writeChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, run);
+        } catch (IOException | UncheckedIOException e) {
+            throw new BadRequestException("Could not read import file: " + e.getMessage());
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Imported {} of {} products from {} in {}ms ({} failed)",
+                run.importedRows, run.totalRows, file.getOriginalFilename(), duration, run.failedRows);
+
+        return ProductImportResponse.builder()
+                .totalRows(run.totalRows)
+                .importedRows(run.importedRows)
+                .failedRows(run.failedRows)
+                .durationMs(duration)
+                .errorsTruncated(run.failedRows > run.errors.size())
+                .errors(run.errors)
+                .build();
+    }
+
+    private ImportRow parse(SourceRow source, ImportRun run) {
+        Map<String, String> values = source.values();
+        String sku = blankToNull(values.get("sku"));
+
+        try {
+            if (source.error() != null) {
+                throw new BadRequestException(source.error());
+            }
+
+            String name = blankToNull(values.get("name"));
+            ValidationUtil.validateStringLength(name, 1, 200, "Product name");
+
+            String description = blankToNull(values.get("description"));
+            ValidationUtil.validateNotBlank(description, "Description");
+
+            BigDecimal price = parseDecimal(values.get("price"), "Price");
+            ValidationUtil.validatePositive(price, "Price");
+            ValidationUtil.validatePrice(price, "Price");
+
+            BigDecimal discountPrice = parseDecimal(values.get("discountprice"), "Discount price");
+            if (discountPrice != null) {
+                ValidationUtil.validateDiscount(discountPrice, price);
+            }
+
+            Integer stockQuantity = parseInteger(values.get("stockquantity"), "Stock quantity");
+            ValidationUtil.validateStockQuantity(stockQuantity);
+
+            Long categoryId = resolveCategory(values, run);
+
+            if (sku != null) {
+                ValidationUtil.validateStringLength(sku, 1, 100, "SKU");
+                skuAllocator.checkManual(sku);
+                if (!run.skus.add(sku.toLowerCase(Locale.ROOT))) {
+                    throw new BadRequestException("Product with SKU " + sku + " already exists");
+                }
+            } else {
+                // Generated SKUs are unique by construction; the set only skips ones entered manually before that form was rejected
+                do {
+                    sku = skuAllocator.next(run.skuPrefixes.get(categoryId));
+                } while (!run.skus.add(sku.toLowerCase(Locale.ROOT)));
+            }
+
+            String isActive = blankToNull(values.get("isactive"));
+
+            return new ImportRow(
+                    source.line(),
+                    name,
+                    sku,
+                    description,
+                    price,
+                    discountPrice,
+                    categoryId,
+                    stockQuantity,
+                    blankToNull(values.get("thumbnail")),
+                    isActive == null || Boolean.parseBoolean(isActive),
+                    blankToNull(values.get("metadescription")),
+                    blankToNull(values.get("metakeywords")));
+        } catch (BadRequestException e) {
+            run.fail(source.line(), sku, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long resolveCategory(Map<String, String> values, ImportRun run) {
+        String categoryId = blankToNull(values.get("categoryid"));
+        if (categoryId != null) {
+            Long id = parseLong(categoryId, "Category ID");
+            if (!run.skuPrefixes.containsKey(id)) {
+                throw new BadRequestException("Category not found with id: " + id);
+            }
+            return id;
+        }
+
+        String categoryName = blankToNull(values.get("category"));
+        if (categoryName != null) {
+            Long id = run.categoryIdsByName.get(categoryName.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new BadRequestException("Category not found: " + categoryName);
+            }
+            return id;
+        }
+
+        throw new BadRequestException("Category ID is required");
+    }
+
+    private void writeChunk(List<ImportRow> chunk, ImportRun run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            long firstId = idBlockAllocator.allocate(IdGenerators.PRODUCTS, chunk.size());
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_PRODUCT, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ImportRow row = chunk.get(i);
+                            ps.setLong(1, firstId + i);
+                            ps.setString(2, row.name());
+                            ps.setString(3, row.sku());
+                            ps.setString(4, row.description());
+                            ps.setBigDecimal(5, row.price());
+                            ps.setBigDecimal(6, row.discountPrice());
+                            ps.setLong(7, row.categoryId());
+                            ps.setInt(8, row.stockQuantity());
+                            ps.setBoolean(9, row.stockQuantity() > 0);
+                            ps.setString(10, row.thumbnail());
+                            ps.setBoolean(11, row.isActive());
+                            ps.setString(12, row.metaDescription());
+                            ps.setString(13, row.metaKeywords());
+                            ps.setTimestamp(14, now);
+                            ps.setTimestamp(15, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }));
+        } catch (DataAccessException e) {
+            String message = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+            log.warn("Product import chunk starting at line {} failed", chunk.get(0).line(), e);
+            for (ImportRow row : chunk) {
+                run.fail(row.line(), row.sku(), message);
+            }
+            return;
+        }
+
+        run.importedRows += chunk.size();
+
+        List<String> skus = new ArrayList<>(chunk.size());
+        // category id -> {products, active products}
+        Map<Long, long[]> categoryCounts = new HashMap<>();
+        for (ImportRow row : chunk) {
+            skus.add(row.sku());
+            long[] counts = categoryCounts.computeIfAbsent(row.categoryId(), key -> new long[2]);
+            counts[0]++;
+            if (row.isActive()) {
+                counts[1]++;
+            }
+        }
+        productSearchIndex.indexSkus(skus);
+        productFacetService.invalidate();
+        categoryCounts.forEach((categoryId, counts) ->
+                categoryProductCounts.adjustAfterCommit(categoryId, counts[0], counts[1]));
+    }
+
+    private Iterator<SourceRow> csvRows(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new BadRequestException("Import file is empty");
+        }
+
+        List<String> columns = new ArrayList<>(header.size());
+        for (String column : header) {
+            columns.add(normalizeKey(column));
+        }
+
+        return new Iterator<>() {
+            private SourceRow next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public SourceRow next() {
+                SourceRow current = next;
+                next = advance();
+                return current;
+            }
+
+            private SourceRow advance() {
+                try {
+                    while (true) {
+                        long line = csv.getLineNumber();
+                        List<String> record = csv.readRecord();
+                        if (record == null) {
+                            return null;
+                        }
+                        if (record.size() == 1 && record.get(0).isBlank()) {
+                            continue;
+                        }
+
+                        Map<String, String> values = new HashMap<>();
+                        for (int i = 0; i < columns.size() && i < record.size(); i++) {
+                            values.put(columns.get(i), record.get(i).trim());
+                        }
+                        String error = record.size() != columns.size()
+                                ? "Expected " + columns.size() + " columns but found " + record.size()
+                                : null;
+                        return new SourceRow(line, values, error);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private Iterator<SourceRow> ndjsonRows(BufferedReader reader) {
+        return new Iterator<>() {
+            private long line;
+            private SourceRow next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public SourceRow next() {
+                SourceRow current = next;
+                next = advance();
+                return current;
+            }
+
+            private SourceRow advance() {
+                try {
+                    String text;
+                    while ((text = reader.readLine()) != null) {
+                        line++;
+                        if (!text.isBlank()) {
+                            return toSourceRow(line, text);
+                        }
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    private SourceRow toSourceRow(long line, String json) {
+        Map<String, String> values = new HashMap<>();
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (!node.isObject()) {
+                return new SourceRow(line, values, "Expected a JSON object");
+            }
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    values.put(normalizeKey(field.getKey()), field.getValue().asText().trim());
+                }
+            });
+            return new SourceRow(line, values, null);
+        } catch (JsonProcessingException e) {
+            return new SourceRow(line, values, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private boolean isNdjson(MultipartFile file, String format) {
+        if (format != null && !format.isBlank()) {
+            if ("ndjson".equalsIgnoreCase(format) || "jsonl".equalsIgnoreCase(format)) {
+                return true;
+            }
+            if ("csv".equalsIgnoreCase(format)) {
+                return false;
+            }
+            throw new BadRequestException("Unsupported import format: " + format + ". Use 'csv' or 'ndjson'");
+        }
+
+        String filename = file.getOriginalFilename() != null
+                ? file.getOriginalFilename().toLowerCase(Locale.ROOT)
+                : "";
+        return filename.endsWith(".ndjson") || filename.endsWith(".jsonl") || filename.endsWith(".json");
+    }
+
+    private static String normalizeKey(String key) {
+        StringBuilder normalized = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static BigDecimal parseDecimal(String value, String fieldName) {
+        String text = blankToNull(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(fieldName + " must be a number");
+        }
+    }
+
+    private static Integer parseInteger(String value, String fieldName) {
+        String text = blankToNull(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(fieldName + " must be a whole number");
+        }
+    }
+
+    private static Long parseLong(String value, String fieldName) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(fieldName + " must be a whole number");
+        }
+    }
+
+    private class ImportRun {
+        private final Set<String> skus = new HashSet<>();
+        // category id -> SKU prefix, null for the default
+        private final Map<Long, String> skuPrefixes = new HashMap<>();
+        private final Map<String, Long> categoryIdsByName = new HashMap<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+
+        private ImportRun() {
+            for (Category category : categoryRepository.findAll()) {
+                skuPrefixes.put(category.getId(), category.getSkuPrefix());
+                categoryIdsByName.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category.getId());
+            }
+            for (String sku : productRepository.findAllSkus()) {
+                skus.add(sku.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        private void fail(long line, String sku, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(RowError.builder().line(line).sku(sku).message(message).build());
+            }
+        }
+    }
+
+    private record SourceRow(long line, Map<String, String> values, String error) {
+    }
+
+    private record ImportRow(long line, String name, String sku, String description, BigDecimal price,
+                             BigDecimal discountPrice, Long categoryId, Integer stockQuantity, String thumbnail,
+                             boolean isActive, String metaDescription, String metaKeywords) {
+    }
+}
@@ -0,0 +1,358 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.event.StockChangedEvent;
+import com.ecommerce.admin.model.Product;
+import com.ecommerce.admin.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over product name, SKU, description and meta keywords
+ * used by the admin product search instead of LIKE scans.
+ *
+ * Terms are kept in a sorted map so a query token also matches every indexed
+ * term it is a prefix of. A document scores the boost of each field a term
+ * occurs in; prefix matches score half. Every query token has to match.
+ *
+ * The index is rebuilt on startup and maintained after commit by ProductService.
+ * Until the first build finishes {@link #isReady()} is false and callers fall
+ * back to the database query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+
+    private static final float SKU_BOOST = 5f;
+    private static final float NAME_BOOST = 3f;
+    private static final float KEYWORDS_BOOST = 2f;
+    private static final float DESCRIPTION_BOOST = 1f;
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (product id -> weight)
+    private NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private Map<Long, IndexedProduct> documents = new HashMap<>();
+
+    // Changes committed while a rebuild is loading, replayed once it is swapped in
+    private List<Consumer<ProductSearchIndex>> pendingChanges;
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        NavigableMap<String, Map<Long, Float>> newPostings = new TreeMap<>();
+        Map<Long, IndexedProduct> newDocuments = new HashMap<>();
+
+        long lastId = 0;
+        List<Object[]> rows;
+        do {
+            rows = productRepository.findSearchIndexRows(lastId, PageRequest.of(0, REBUILD_CHUNK_SIZE));
+            for (Object[] row : rows) {
+                IndexedProduct document = toDocument(row);
+                add(newPostings, newDocuments, document);
+                lastId = document.id();
+            }
+        } while (rows.size() == REBUILD_CHUNK_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documents = newDocuments;
+            for (Consumer<ProductSearchIndex> change : pendingChanges) {
+                change.accept(this);
+            }
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product search index built: {} products, {} terms in {}ms",
+                newDocuments.size(), newPostings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Indexes the product's current state once the surrounding transaction commits.
+     */
+    public void indexAfterCommit(Product product) {
+        IndexedProduct document = toDocument(product);
+        afterCommit(() -> apply(index -> add(index.postings, index.documents, document)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        boolean inStock = event.getNewQuantity() > 0;
+        apply(index -> {
+            IndexedProduct document = index.documents.get(event.getProductId());
+            if (document != null && document.inStock() != inStock) {
+                index.documents.put(document.id(), new IndexedProduct(document.id(), document.categoryId(),
+                        inStock, document.createdAt(), document.terms()));
+            }
+        });
+    }
+
+    /**
+     * Indexes products written outside JPA, such as bulk imports, once committed.
+     */
+    public void indexSkus(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return;
+        }
+        List<IndexedProduct> loaded = new ArrayList<>(skus.size());
+        for (Object[] row : productRepository.findSearchIndexRowsBySkus(skus)) {
+            loaded.add(toDocument(row));
+        }
+        apply(index -> {
+            for (IndexedProduct document : loaded) {
+                add(index.postings, index.documents, document);
+            }
+        });
+    }
+
+    /**
+     * Returns ids of products matching every token of the query, best match
+     * first, restricted to the given category and stock state when set.
+     */
+    public List<Long> search(String query, Long categoryId, Boolean inStock) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = matchAll(tokens);
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+
+            List<IndexedProduct> matches = new ArrayList<>(scores.size());
+            for (Long id : scores.keySet()) {
+                IndexedProduct document = documents.get(id);
+                if (document != null
+                        && (categoryId == null || categoryId.equals(document.categoryId()))
+                        && (inStock == null || inStock == document.inStock())) {
+                    matches.add(document);
+                }
+            }
+
+            Map<Long, Float> finalScores = scores;
+            matches.sort(Comparator
+                    .comparing((IndexedProduct document) -> finalScores.get(document.id()), Comparator.reverseOrder())
+                    .thenComparing(IndexedProduct::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(IndexedProduct::id, Comparator.reverseOrder()));
+
+            List<Long> ids = new ArrayList<>(matches.size());
+            for (IndexedProduct document : matches) {
+                ids.add(document.id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products matching the query, or all products when it is
+     * null, per category id and stock state: categoryId -> {out of stock, in stock}.
+     */
+    public Map<Long, long[]> facetCounts(String query) {
+        List<String> tokens = query != null ? tokenize(query) : null;
+        Map<Long, long[]> counts = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            Collection<Long> ids = tokens != null ? matchAll(tokens).keySet() : documents.keySet();
+            for (Long id : ids) {
+                IndexedProduct document = documents.get(id);
+                if (document != null) {
+                    counts.computeIfAbsent(document.categoryId(), key -> new long[2])[document.inStock() ? 1 : 0]++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    // Scores of the documents matching every token; empty if there are no tokens
+    private Map<Long, Float> matchAll(List<String> tokens) {
+        Map<Long, Float> scores = null;
+        for (String token : tokens) {
+            Map<Long, Float> tokenScores = scoreToken(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((id, score) -> score + tokenScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores != null ? scores : new HashMap<>();
+    }
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> tokenScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().length() == token.length() ? 1f : PREFIX_FACTOR;
+            for (Map.Entry<Long, Float> posting : entry.getValue().entrySet()) {
+                tokenScores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return tokenScores;
+    }
+
+    private void apply(Consumer<ProductSearchIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            change.accept(this);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void remove(Long productId) {
+        IndexedProduct existing = documents.remove(productId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms().keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private void add(NavigableMap<String, Map<Long, Float>> targetPostings,
+                     Map<Long, IndexedProduct> targetDocuments,
+                     IndexedProduct document) {
+        if (targetDocuments == documents) {
+            remove(document.id());
+        }
+        targetDocuments.put(document.id(), document);
+        for (Map.Entry<String, Float> term : document.terms().entrySet()) {
+            targetPostings.computeIfAbsent(term.getKey(), key -> new HashMap<>())
+                    .put(document.id(), term.getValue());
+        }
+    }
+
+    private IndexedProduct toDocument(Object[] row) {
+        Integer stockQuantity = (Integer) row[6];
+        return toDocument((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                (Long) row[5], stockQuantity != null && stockQuantity > 0, (LocalDateTime) row[7]);
+    }
+
+    private IndexedProduct toDocument(Product product) {
+        // inStock is derived in @PreUpdate, which has not run yet for a pending update
+        Integer stockQuantity = product.getStockQuantity();
+        return toDocument(product.getId(), product.getName(), product.getSku(), product.getDescription(),
+                product.getMetaKeywords(), product.getCategory() != null ? product.getCategory().getId() : null,
+                stockQuantity != null && stockQuantity > 0, product.getCreatedAt());
+    }
+
+    private IndexedProduct toDocument(Long id, String name, String sku, String description, String metaKeywords,
+                                      Long categoryId, boolean inStock, LocalDateTime createdAt) {
+        Map<String, Float> terms = new LinkedHashMap<>();
+        addTerms(terms, sku, SKU_BOOST);
+        addTerms(terms, name, NAME_BOOST);
+        addTerms(terms, metaKeywords, KEYWORDS_BOOST);
+        addTerms(terms, description, DESCRIPTION_BOOST);
+        return new IndexedProduct(id, categoryId, inStock, createdAt, terms);
+    }
+
+    private void addTerms(Map<String, Float> terms, String text, float boost) {
+        // A term scores each field once, however often it occurs in it
+        for (String token : new HashSet<>(tokenize(text))) {
+            terms.merge(token, boost, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private record IndexedProduct(Long id, Long categoryId, boolean inStock, LocalDateTime createdAt,
+                                  Map<String, Float> terms) {
+    }
+}
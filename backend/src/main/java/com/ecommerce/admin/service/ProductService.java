@@ -3,6 +3,7 @@ package com.ecommerce.admin.service;
 import com.ecommerce.admin.dto.request.ProductCreateRequest;
 import com.ecommerce.admin.dto.request.ProductUpdateRequest;
 import com.ecommerce.admin.dto.request.StockAdjustmentRequest;
+import com.ecommerce.admin.dto.response.FacetedProductResponse;
 import com.ecommerce.admin.dto.response.PageResponse;
 import com.ecommerce.admin.dto.response.ProductResponse;
 import com.ecommerce.admin.exception.BadRequestException;
@@ -22,8 +23,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +35,14 @@ public class ProductService {
     
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final InventoryService inventoryService;
+    private final StockReservationService stockReservationService;
+    private final ProductCache productCache;
+    private final LowStockService lowStockService;
+    private final ProductFacetService productFacetService;
+    private final SkuAllocator skuAllocator;
+    private final CategoryProductCounts categoryProductCounts;
     
     @Transactional(readOnly = true)
     public PageResponse<ProductResponse> getProducts(
@@ -41,6 +52,10 @@ public class ProductService {
             int page,
             int size
     ) {
+        if (search != null && !search.isBlank() && productSearchIndex.isReady()) {
+            return searchProducts(categoryId, search, inStock, page, size);
+        }
+        
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Product> productPage = productRepository.findByFilters(categoryId, search, inStock, pageable);
         
@@ -63,26 +78,110 @@ public class ProductService {
                 .build();
     }
     
+    /**
+     * The product page plus category and stock facet counts for the same filters.
+     */
+    @Transactional(readOnly = true)
+    public FacetedProductResponse getProductsWithFacets(
+            Long categoryId,
+            String search,
+            Boolean inStock,
+            int page,
+            int size
+    ) {
+        return FacetedProductResponse.builder()
+                .products(getProducts(categoryId, search, inStock, page, size))
+                .facets(productFacetService.getFacets(categoryId, search, inStock))
+                .build();
+    }
+    
+    private PageResponse<ProductResponse> searchProducts(
+            Long categoryId,
+            String search,
+            Boolean inStock,
+            int page,
+            int size
+    ) {
+        List<Long> rankedIds = productSearchIndex.search(search, categoryId, inStock);
+        
+        int from = Math.min(page * size, rankedIds.size());
+        int to = Math.min(from + size, rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        
+        Map<Long, ProductResponse> productsById = new HashMap<>(productCache.getAllPresent(pageIds));
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : pageIds) {
+            if (!productsById.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        
+        if (!missingIds.isEmpty()) {
+            long[] generations = productCache.generations();
+            long start = System.nanoTime();
+            List<ProductResponse> loaded = new ArrayList<>();
+            for (Product product : productRepository.findAllWithCategoryByIdIn(missingIds)) {
+                ProductResponse response = toCachedResponse(product);
+                loaded.add(response);
+                productsById.put(product.getId(), response);
+            }
+            productCache.putAll(loaded, generations, (System.nanoTime() - start) / Math.max(loaded.size(), 1));
+        }
+        
+        List<ProductResponse> responses = new ArrayList<>();
+        for (Long id : pageIds) {
+            ProductResponse product = productsById.get(id);
+            if (product != null) {
+                responses.add(withLiveStock(product));
+            }
+        }
+        
+        int totalPages = size > 0 ? (rankedIds.size() + size - 1) / size : 0;
+        
+        log.info("Search index matched {} products for search={}, categoryId={}, inStock={}", 
+                rankedIds.size(), search, categoryId, inStock);
+        
+        return PageResponse.<ProductResponse>builder()
+                .content(responses)
+                .totalElements(rankedIds.size())
+                .totalPages(totalPages)
+                .currentPage(page)
+                .pageSize(size)
+                .first(page == 0)
+                .last(page >= totalPages - 1)
+                .build();
+    }
+    
     @Transactional(readOnly = true)
     public ProductResponse getProduct(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        ProductResponse product = productCache.get(id, () -> toCachedResponse(
+                productRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id))));
         
         log.info("Retrieved product: {}", product.getName());
         
-        return mapToProductResponse(product);
+        return withLiveStock(product);
     }
     
     @Transactional
     public ProductResponse createProduct(ProductCreateRequest request) {
-        if (request.getSku() != null && productRepository.findBySku(request.getSku()).isPresent()) {
-            throw new ValidationException("Product with SKU " + request.getSku() + " already exists");
+        if (request.getSku() != null) {
+            skuAllocator.checkManual(request.getSku());
+            if (productRepository.findBySku(request.getSku()).isPresent()) {
+                throw new ValidationException("Product with SKU " + request.getSku() + " already exists");
+            }
         }
         
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + request.getCategoryId()));
         
-        String sku = request.getSku() != null ? request.getSku() : generateSku();
+        String sku = request.getSku();
+        if (sku == null) {
+            // Skips numbers taken by SKUs entered before manual SKUs in the generated form were rejected
+            do {
+                sku = skuAllocator.next(category);
+            } while (productRepository.findBySku(sku).isPresent());
+        }
         
         Product product = Product.builder()
                 .name(request.getName())
@@ -92,6 +191,7 @@ public class ProductService {
                 .discountPrice(request.getDiscountPrice())
                 .category(category)
                 .stockQuantity(request.getStockQuantity())
+                .lowStockThreshold(request.getLowStockThreshold())
                 .thumbnail(request.getThumbnail())
                 .isActive(request.getIsActive() != null ? request.getIsActive() : true)
                 .metaDescription(request.getMetaDescription())
@@ -99,6 +199,9 @@ public class ProductService {
                 .build();
         
         product = productRepository.save(product);
+        productSearchIndex.indexAfterCommit(product);
+        productFacetService.invalidateAfterCommit();
+        categoryProductCounts.adjustAfterCommit(category.getId(), 1, isActive(product) ? 1 : 0);
         
         log.info("Created new product: {} with SKU: {}", product.getName(), product.getSku());
         
@@ -110,6 +213,9 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         
+        Long previousCategoryId = categoryIdOf(product);
+        boolean wasActive = isActive(product);
+        
         if (request.getName() != null) {
             product.setName(request.getName());
         }
@@ -132,8 +238,10 @@ public class ProductService {
             product.setCategory(category);
         }
         
-        if (request.getStockQuantity() != null) {
-            product.setStockQuantity(request.getStockQuantity());
+        
+        if (request.getLowStockThreshold() != null) {
+            product.setLowStockThreshold(request.getLowStockThreshold());
+            lowStockService.thresholdChanged(id);
         }
         
         if (request.getThumbnail() != null) {
@@ -154,6 +262,27 @@ public class ProductService {
         
         product = productRepository.save(product);
         
+        if (request.getStockQuantity() != null) {
+            int delta = request.getStockQuantity() - inventoryService.currentQuantity(id);
+            if (delta != 0) {
+                checkReservedStock(id, delta);
+                product.setStockQuantity(inventoryService.applyDelta(id, delta));
+            }
+        }
+        productSearchIndex.indexAfterCommit(product);
+        productCache.evictAfterCommit(id);
+        productFacetService.invalidateAfterCommit();
+        
+        Long categoryId = categoryIdOf(product);
+        int activeNow = isActive(product) ? 1 : 0;
+        int activeBefore = wasActive ? 1 : 0;
+        if (Objects.equals(previousCategoryId, categoryId)) {
+            categoryProductCounts.adjustAfterCommit(categoryId, 0, activeNow - activeBefore);
+        } else {
+            categoryProductCounts.adjustAfterCommit(previousCategoryId, -1, -activeBefore);
+            categoryProductCounts.adjustAfterCommit(categoryId, 1, activeNow);
+        }
+        
         log.info("Updated product: {}", product.getName());
         
         return mapToProductResponse(product);
@@ -164,49 +293,47 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         
+        boolean wasActive = isActive(product);
         product.setIsActive(false);
         productRepository.save(product);
+        productSearchIndex.indexAfterCommit(product);
+        productCache.evictAfterCommit(id);
+        productFacetService.invalidateAfterCommit();
+        if (wasActive) {
+            categoryProductCounts.adjustAfterCommit(categoryIdOf(product), 0, -1);
+        }
         
         log.info("Soft deleted product: {}", product.getName());
     }
     
     @Transactional
     public ProductResponse adjustStock(Long id, StockAdjustmentRequest request) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        
-        int currentStock = product.getStockQuantity();
-        int newStock;
-        
+        int delta;
         if ("add".equalsIgnoreCase(request.getType())) {
-            newStock = currentStock + request.getQuantity();
-            log.info("Adding {} units to product: {}, current: {}, new: {}", 
-                    request.getQuantity(), product.getName(), currentStock, newStock);
-        } else if ("remove".equalsIgnoreCase(request.getType())) {
-            newStock = currentStock - request.getQuantity();
-            if (newStock < 0) {
-                throw new BadRequestException("Cannot remove more stock than available. Current stock: " + currentStock);
-            }
-            log.info("Removing {} units from product: {}, current: {}, new: {}", 
-                    request.getQuantity(), product.getName(), currentStock, newStock);
+            delta = request.getQuantity();
+        } else if ("remove".equalsIgnoreCase(request.getType()) || "subtract".equalsIgnoreCase(request.getType())) {
+            delta = -request.getQuantity();
         } else {
-            throw new ValidationException("Invalid adjustment type. Use 'add' or 'remove'");
+            throw new ValidationException("Invalid adjustment type. Use 'add', 'remove' or 'subtract'");
         }
         
-        product.setStockQuantity(newStock);
-        product = productRepository.save(product);
+        checkReservedStock(id, delta);
+        
+        // The cached copy is evicted by ProductCache's StockChangedEvent listener
+        int newStock = inventoryService.applyDelta(id, delta);
+        
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        
+        log.info("Adjusted stock of product: {} by {}, new: {}", product.getName(), delta, newStock);
         
         return mapToProductResponse(product);
     }
     
-    private String generateSku() {
-        return "PRD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-    }
-    
     @Transactional(readOnly = true)
     public List<ProductResponse> getLowStockProducts() {
-        log.info("Fetching low stock products (stock < 10)");
-        List<Product> lowStockProducts = productRepository.findByStockQuantityLessThan(10);
+        log.info("Fetching low stock products");
+        List<Product> lowStockProducts = lowStockService.findLowStockProducts();
         
         List<ProductResponse> responses = new ArrayList<>();
         for (Product product : lowStockProducts) {
@@ -217,7 +344,31 @@ public class ProductService {
         return responses;
     }
     
-    private ProductResponse mapToProductResponse(Product product) {
+    // Removals may not leave fewer units than active reservations hold
+    private void checkReservedStock(Long id, int delta) {
+        if (delta >= 0) {
+            return;
+        }
+        int reserved = stockReservationService.reservedQuantity(id);
+        if (reserved > 0 && inventoryService.currentQuantity(id) + delta < reserved) {
+            throw new BadRequestException("Cannot remove stock held by reservations. Reserved: " + reserved);
+        }
+    }
+    
+    private static Long categoryIdOf(Product product) {
+        return product.getCategory() != null ? product.getCategory().getId() : null;
+    }
+    
+    private static boolean isActive(Product product) {
+        return !Boolean.FALSE.equals(product.getIsActive());
+    }
+    
+    ProductResponse mapToProductResponse(Product product) {
+        return withLiveStock(toCachedResponse(product));
+    }
+    
+    // Stock as stored; live and reserved stock are overlaid per request by withLiveStock
+    private ProductResponse toCachedResponse(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -228,6 +379,7 @@ public class ProductService {
                 .categoryId(product.getCategory() != null ? product.getCategory().getId() : null)
                 .categoryName(product.getCategory() != null ? product.getCategory().getName() : null)
                 .stockQuantity(product.getStockQuantity())
+                .lowStockThreshold(product.getLowStockThreshold())
                 .inStock(product.getInStock())
                 .thumbnail(product.getThumbnail())
                 .isActive(product.getIsActive())
@@ -237,4 +389,18 @@ public class ProductService {
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
+    
+    // Always returns a copy, so cached responses are never handed out
+    private ProductResponse withLiveStock(ProductResponse product) {
+        Integer liveStock = inventoryService.liveQuantity(product.getId());
+        Integer stockQuantity = liveStock != null ? liveStock : product.getStockQuantity();
+        int reserved = stockReservationService.reservedQuantity(product.getId());
+        
+        return product.toBuilder()
+                .stockQuantity(stockQuantity)
+                .reservedQuantity(reserved)
+                .availableQuantity(stockQuantity != null ? Math.max(stockQuantity - reserved, 0) : null)
+                .inStock(stockQuantity != null ? stockQuantity > 0 : product.getInStock())
+                .build();
+    }
 }
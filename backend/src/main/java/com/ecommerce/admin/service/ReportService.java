@@ -1,18 +1,26 @@
 package com.ecommerce.admin.service;
 
+import com.ecommerce.admin.dto.response.CouponAnalyticsResponse;
+import com.ecommerce.admin.repository.ArchivedOrderItemRepository;
+import com.ecommerce.admin.repository.ArchivedOrderRepository;
 import com.ecommerce.admin.repository.OrderItemRepository;
 import com.ecommerce.admin.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +29,20 @@ public class ReportService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final JdbcTemplate jdbcTemplate;
+    
+    private static final String COUPON_ORDERS_SOURCE =
+            "SELECT coupon_code, discount, total FROM orders " +
+            "WHERE created_at BETWEEN ? AND ? AND status <> 'CANCELLED'";
+    
+    // Orders without a coupon form the group with a NULL code
+    private static final String COUPON_AGGREGATE =
+            "SELECT NULLIF(UPPER(TRIM(coupon_code)), '') AS code, COUNT(*) AS orders, " +
+            "COALESCE(SUM(discount), 0) AS discount, COALESCE(SUM(total), 0) AS revenue " +
+            "FROM (%s) o GROUP BY code";
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
@@ -40,8 +62,8 @@ public class ReportService {
             endDate = temp;
         }
         
-        BigDecimal totalRevenue = orderRepository.getTotalRevenue(startDate, endDate);
-        Long totalOrders = orderRepository.countSuccessfulOrders(startDate, endDate);
+        BigDecimal totalRevenue = getTotalRevenue(startDate, endDate);
+        Long totalOrders = countSuccessfulOrders(startDate, endDate);
         
         BigDecimal averageOrderValue = BigDecimal.ZERO;
         if (totalOrders > 0) {
@@ -57,8 +79,8 @@ public class ReportService {
             LocalDateTime dayStart = date.toLocalDate().atStartOfDay();
             LocalDateTime dayEnd = dayStart.plusDays(1);
             
-            BigDecimal dayRevenue = orderRepository.getTotalRevenue(dayStart, dayEnd);
-            Long dayOrders = orderRepository.countSuccessfulOrders(dayStart, dayEnd);
+            BigDecimal dayRevenue = getTotalRevenue(dayStart, dayEnd);
+            Long dayOrders = countSuccessfulOrders(dayStart, dayEnd);
             
             dailySales.add(DailySalesData.builder()
                     .date(dayStart.format(DATE_FORMATTER))
@@ -86,23 +108,144 @@ public class ReportService {
             limit = 10;
         }
         
-        List<Object[]> topProductsData = orderItemRepository.findTopSellingProducts(
-                PageRequest.of(0, limit)
-        );
+        List<TopProductResponse> topProducts = orderArchiveService.hasArchivedOrders()
+                ? toTopProducts(archivedOrderItemRepository.findTopSellingProductsIncludingArchive(limit))
+                : toTopProducts(orderItemRepository.findTopSellingProducts(PageRequest.of(0, limit)));
+        
+        log.info("Retrieved top {} products", topProducts.size());
+        
+        return topProducts;
+    }
+    
+    /**
+     * Redemptions and discount per coupon over a range, from one GROUP BY over
+     * the orders (and the archive when the range reaches it). The per-coupon
+     * rows are streamed and only the top coupons by discount are kept, so a
+     * campaign of single-use codes does not load a row per code.
+     */
+    public CouponAnalyticsResponse getCouponAnalytics(LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        if (startDate == null) {
+            startDate = LocalDateTime.now().minusDays(30);
+        }
+        
+        if (endDate == null) {
+            endDate = LocalDateTime.now();
+        }
+        
+        if (startDate.isAfter(endDate)) {
+            LocalDateTime temp = startDate;
+            startDate = endDate;
+            endDate = temp;
+        }
+        
+        if (limit <= 0) {
+            limit = 10;
+        }
+        
+        Timestamp start = Timestamp.valueOf(startDate);
+        Timestamp end = Timestamp.valueOf(endDate);
+        String source = COUPON_ORDERS_SOURCE;
+        Object[] args = { start, end };
+        if (orderArchiveService.covers(startDate)) {
+            source += " UNION ALL " + COUPON_ORDERS_SOURCE.replace("FROM orders ", "FROM orders_archive ");
+            args = new Object[] { start, end, start, end };
+        }
+        
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+        
+        int topLimit = limit;
+        PriorityQueue<CouponAnalyticsResponse.CouponUsage> top = new PriorityQueue<>(
+                Comparator.comparing(CouponAnalyticsResponse.CouponUsage::getTotalDiscount));
+        long[] orders = new long[2];
+        BigDecimal[] revenue = { BigDecimal.ZERO, BigDecimal.ZERO };
+        BigDecimal[] totalDiscount = { BigDecimal.ZERO };
+        long[] couponsUsed = new long[1];
+        
+        streaming.query(String.format(COUPON_AGGREGATE, source), rs -> {
+            String code = rs.getString("code");
+            long count = rs.getLong("orders");
+            BigDecimal discount = rs.getBigDecimal("discount");
+            BigDecimal total = rs.getBigDecimal("revenue");
+            if (code == null) {
+                orders[0] += count;
+                revenue[0] = revenue[0].add(total);
+                return;
+            }
+            
+            orders[1] += count;
+            revenue[1] = revenue[1].add(total);
+            totalDiscount[0] = totalDiscount[0].add(discount);
+            couponsUsed[0]++;
+            
+            if (top.size() < topLimit || discount.compareTo(top.peek().getTotalDiscount()) > 0) {
+                top.add(CouponAnalyticsResponse.CouponUsage.builder()
+                        .couponCode(code)
+                        .redemptions(count)
+                        .totalDiscount(discount)
+                        .revenue(total)
+                        .averageOrderValue(average(total, count))
+                        .averageDiscount(average(discount, count))
+                        .build());
+                if (top.size() > topLimit) {
+                    top.poll();
+                }
+            }
+        }, args);
+        
+        List<CouponAnalyticsResponse.CouponUsage> topCoupons = new ArrayList<>(top);
+        topCoupons.sort(Comparator.comparing(CouponAnalyticsResponse.CouponUsage::getTotalDiscount).reversed());
         
+        long totalOrders = orders[0] + orders[1];
+        
+        log.info("Generated coupon analytics from {} to {}: {} coupons on {} of {} orders", 
+                startDate, endDate, couponsUsed[0], orders[1], totalOrders);
+        
+        return CouponAnalyticsResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .totalOrders(totalOrders)
+                .couponOrders(orders[1])
+                .couponOrderRate(totalOrders > 0 ? Math.round(orders[1] * 10000.0 / totalOrders) / 100.0 : 0)
+                .couponsUsed(couponsUsed[0])
+                .totalDiscount(totalDiscount[0])
+                .averageOrderValueWithCoupon(average(revenue[1], orders[1]))
+                .averageOrderValueWithoutCoupon(average(revenue[0], orders[0]))
+                .topCoupons(topCoupons)
+                .build();
+    }
+    
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count > 0 ? sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+    
+    private BigDecimal getTotalRevenue(LocalDateTime startDate, LocalDateTime endDate) {
+        BigDecimal revenue = orderRepository.getTotalRevenue(startDate, endDate);
+        if (orderArchiveService.covers(startDate)) {
+            revenue = revenue.add(archivedOrderRepository.getTotalRevenue(startDate, endDate));
+        }
+        return revenue;
+    }
+    
+    private Long countSuccessfulOrders(LocalDateTime startDate, LocalDateTime endDate) {
+        Long orders = orderRepository.countSuccessfulOrders(startDate, endDate);
+        if (orderArchiveService.covers(startDate)) {
+            orders += archivedOrderRepository.countSuccessfulOrders(startDate, endDate);
+        }
+        return orders;
+    }
+    
+    private List<TopProductResponse> toTopProducts(List<Object[]> rows) {
         List<TopProductResponse> topProducts = new ArrayList<>();
-        for (Object[] data : topProductsData) {
+        for (Object[] data : rows) {
             topProducts.add(TopProductResponse.builder()
-                    .productId((Long) data[0])
+                    .productId(((Number) data[0]).longValue())
                     .productName((String) data[1])
                     .thumbnail((String) data[2])
                     .totalQuantitySold(((Number) data[3]).longValue())
                     .totalRevenue((BigDecimal) data[4])
                     .build());
         }
-        
-        log.info("Retrieved top {} products", topProducts.size());
-        
         return topProducts;
     }
 }
@@ -0,0 +1,274 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.request.ReviewModerationRequest;
+import com.ecommerce.admin.dto.request.ReviewUpdateRequest;
+import com.ecommerce.admin.dto.response.ProductDetailResponse;
+import com.ecommerce.admin.dto.response.ReviewModerationResponse;
+import com.ecommerce.admin.exception.ResourceNotFoundException;
+import com.ecommerce.admin.repository.ProductReviewRepository;
+import com.ecommerce.admin.repository.projection.ProductReviewRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Review moderation and the product rating aggregates derived from it.
+ *
+ * products.rating_sum and products.reviews hold the sum and count of the
+ * approved ratings and are changed by deltas in the same transaction as the
+ * review, so rating never needs an AVG over product_reviews. Every change
+ * locks the affected product rows before the review rows; the nightly
+ * reconciliation takes the locks in the same order when it corrects drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewService {
+
+    // rating is assigned first, so it is computed from the pre-update sum and count
+    private static final String APPLY_RATING_DELTA =
+            "UPDATE products SET " +
+            "rating = CASE WHEN reviews + ? > 0 THEN ROUND((COALESCE(rating_sum, 0) + ?) / (reviews + ?), 2) ELSE 0 END, " +
+            "rating_sum = COALESCE(rating_sum, 0) + ?, " +
+            "reviews = reviews + ? " +
+            "WHERE id = ?";
+
+    private static final String SET_RATING =
+            "UPDATE products SET rating = ?, rating_sum = ?, reviews = ? WHERE id = ?";
+
+    private static final String SELECT_REVIEWS =
+            "SELECT id, product_id, rating, is_approved FROM product_reviews WHERE id IN (:ids)";
+
+    private static final String LOCK_PRODUCTS =
+            "SELECT id FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    // One pass over the approved reviews, returning only products whose aggregates drifted
+    private static final String SELECT_DRIFTED_PRODUCTS =
+            "SELECT p.id FROM products p LEFT JOIN (" +
+            "SELECT product_id, SUM(rating) AS rating_sum, COUNT(*) AS reviews " +
+            "FROM product_reviews WHERE is_approved = TRUE GROUP BY product_id) a ON a.product_id = p.id " +
+            "WHERE p.rating_sum IS NULL OR p.rating_sum <> COALESCE(a.rating_sum, 0) " +
+            "OR p.reviews <> COALESCE(a.reviews, 0)";
+
+    private static final String AGGREGATE_LOCKED =
+            "SELECT product_id, SUM(rating) AS rating_sum, COUNT(*) AS reviews FROM product_reviews " +
+            "WHERE product_id IN (:ids) AND is_approved = TRUE GROUP BY product_id LOCK IN SHARE MODE";
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final ProductReviewRepository productReviewRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Approves or unapproves many reviews at once. Reviews already in the
+     * requested state are left alone, so repeating a request is harmless.
+     */
+    @Transactional
+    public ReviewModerationResponse moderate(ReviewModerationRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.getReviewIds());
+        boolean approve = request.getApproved();
+
+        List<ReviewRow> reviews = lockReviews(ids);
+        List<Long> changed = new ArrayList<>();
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (ReviewRow review : reviews) {
+            if (review.approved() != approve) {
+                changed.add(review.id());
+                int sign = approve ? 1 : -1;
+                long[] delta = deltas.computeIfAbsent(review.productId(), key -> new long[2]);
+                delta[0] += sign * review.rating();
+                delta[1] += sign;
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            namedParameterJdbcTemplate.update(
+                    "UPDATE product_reviews SET is_approved = :approved, updated_at = NOW() WHERE id IN (:ids)",
+                    new MapSqlParameterSource("approved", approve).addValue("ids", changed));
+            applyDeltas(deltas);
+        }
+
+        log.info("{} {} of {} reviews across {} products",
+                approve ? "Approved" : "Unapproved", changed.size(), ids.size(), deltas.size());
+
+        return ReviewModerationResponse.builder()
+                .requested(ids.size())
+                .updated(changed.size())
+                .unchanged(reviews.size() - changed.size())
+                .notFound(ids.size() - reviews.size())
+                .productsAffected(deltas.size())
+                .build();
+    }
+
+    @Transactional
+    public ProductDetailResponse.Review updateReview(Long id, ReviewUpdateRequest request) {
+        ReviewRow review = lockReview(id);
+
+        jdbcTemplate.update(
+                "UPDATE product_reviews SET rating = COALESCE(?, rating), review_text = COALESCE(?, review_text), " +
+                "updated_at = NOW() WHERE id = ?",
+                request.getRating(), request.getReviewText(), id);
+
+        if (review.approved() && request.getRating() != null && request.getRating() != review.rating()) {
+            applyDeltas(Map.of(review.productId(), new long[] { request.getRating() - review.rating(), 0 }));
+        }
+
+        log.info("Updated review {} of product {}", id, review.productId());
+
+        return productReviewRepository.findReviewRowById(id)
+                .map(this::mapToReviewResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
+    }
+
+    @Transactional
+    public void deleteReview(Long id) {
+        ReviewRow review = lockReview(id);
+
+        jdbcTemplate.update("DELETE FROM product_reviews WHERE id = ?", id);
+        if (review.approved()) {
+            applyDeltas(Map.of(review.productId(), new long[] { -review.rating(), -1 }));
+        }
+
+        log.info("Deleted review {} of product {}", id, review.productId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileIfUninitialized() {
+        Long uninitialized = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE rating_sum IS NULL", Long.class);
+        if (uninitialized != null && uninitialized > 0) {
+            log.info("{} products have no rating sum yet, reconciling ratings", uninitialized);
+            reconcileRatings();
+        }
+    }
+
+    /**
+     * Recomputes the aggregates of every product that drifted from its
+     * approved reviews and returns how many were corrected.
+     */
+    @Scheduled(cron = "${app.reviews.reconcile-cron:0 45 3 * * *}")
+    public int reconcileRatings() {
+        long start = System.currentTimeMillis();
+
+        // Rows are streamed; corrections run in their own transactions on another connection
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(Integer.MIN_VALUE);
+
+        List<Long> chunk = new ArrayList<>(RECONCILE_CHUNK_SIZE);
+        int[] corrected = new int[1];
+        streaming.query(SELECT_DRIFTED_PRODUCTS, rs -> {
+            chunk.add(rs.getLong(1));
+            if (chunk.size() == RECONCILE_CHUNK_SIZE) {
+                corrected[0] += reconcileChunk(chunk);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            corrected[0] += reconcileChunk(chunk);
+        }
+
+        log.info("Rating reconciliation corrected {} products in {}ms",
+                corrected[0], System.currentTimeMillis() - start);
+        return corrected[0];
+    }
+
+    private int reconcileChunk(List<Long> productIds) {
+        return transactionTemplate.execute(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", productIds);
+            namedParameterJdbcTemplate.queryForList(LOCK_PRODUCTS, params, Long.class);
+
+            Map<Long, long[]> aggregates = new HashMap<>();
+            namedParameterJdbcTemplate.query(AGGREGATE_LOCKED, params, rs -> {
+                aggregates.put(rs.getLong("product_id"),
+                        new long[] { rs.getLong("rating_sum"), rs.getLong("reviews") });
+            });
+
+            List<Object[]> batchArgs = new ArrayList<>(productIds.size());
+            for (Long productId : productIds) {
+                long[] aggregate = aggregates.getOrDefault(productId, new long[2]);
+                double rating = aggregate[1] > 0
+                        ? Math.round(aggregate[0] * 100.0 / aggregate[1]) / 100.0
+                        : 0.0;
+                batchArgs.add(new Object[] { rating, aggregate[0], aggregate[1], productId });
+            }
+            jdbcTemplate.batchUpdate(SET_RATING, batchArgs);
+            return productIds.size();
+        });
+    }
+
+    private ReviewRow lockReview(Long id) {
+        List<ReviewRow> reviews = lockReviews(List.of(id));
+        if (reviews.isEmpty()) {
+            throw new ResourceNotFoundException("Review not found with id: " + id);
+        }
+        return reviews.get(0);
+    }
+
+    // Products first, then reviews: the lock order the reconciliation uses
+    private List<ReviewRow> lockReviews(Collection<Long> ids) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        List<ReviewRow> reviews = queryReviews(SELECT_REVIEWS, params);
+        if (reviews.isEmpty()) {
+            return reviews;
+        }
+
+        Set<Long> productIds = new TreeSet<>();
+        for (ReviewRow review : reviews) {
+            productIds.add(review.productId());
+        }
+        namedParameterJdbcTemplate.queryForList(LOCK_PRODUCTS,
+                new MapSqlParameterSource("ids", productIds), Long.class);
+
+        return queryReviews(SELECT_REVIEWS + " FOR UPDATE", params);
+    }
+
+    private List<ReviewRow> queryReviews(String sql, MapSqlParameterSource params) {
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> new ReviewRow(
+                rs.getLong("id"), rs.getLong("product_id"), rs.getInt("rating"), rs.getBoolean("is_approved")));
+    }
+
+    private void applyDeltas(Map<Long, long[]> deltas) {
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                batchArgs.add(new Object[] { delta[1], delta[0], delta[1], delta[0], delta[1], productId });
+            }
+        });
+        jdbcTemplate.batchUpdate(APPLY_RATING_DELTA, batchArgs);
+    }
+
+    private ProductDetailResponse.Review mapToReviewResponse(ProductReviewRow row) {
+        return ProductDetailResponse.Review.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .userName(row.getUserName())
+                .rating(row.getRating())
+                .reviewText(row.getReviewText())
+                .isVerifiedPurchase(row.getIsVerifiedPurchase())
+                .isApproved(row.getIsApproved())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    private record ReviewRow(long id, long productId, int rating, boolean approved) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.model.Category;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates sequential SKUs such as ELEC-000042, numbered per prefix.
+ *
+ * Numbers are reserved in blocks from a database counter (a row of
+ * id_generators per prefix) and handed out from memory, so a generated SKU
+ * is unique without looking it up. Numbers of a block that is not used up
+ * before shutdown are skipped. Manually entered SKUs may not take the
+ * generated form, which keeps that namespace to the allocator.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkuAllocator {
+
+    private static final String COUNTER_PREFIX = "sku:";
+    private static final Pattern PREFIX_PATTERN = Pattern.compile("[A-Z0-9]{1,10}");
+    private static final Pattern GENERATED_PATTERN = Pattern.compile("[A-Z0-9]{1,10}-(\\d+)", Pattern.CASE_INSENSITIVE);
+
+    private final IdBlockAllocator idBlockAllocator;
+
+    @Value("${app.products.sku.default-prefix:PRD}")
+    private String defaultPrefix;
+
+    @Value("${app.products.sku.block-size:100}")
+    private int blockSize;
+
+    @Value("${app.products.sku.digits:6}")
+    private int digits;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public String next(Category category) {
+        return next(category != null ? category.getSkuPrefix() : null);
+    }
+
+    /**
+     * Next SKU for the prefix, or for the default prefix when it is null.
+     */
+    public String next(String prefix) {
+        String effectivePrefix = prefix != null ? prefix : defaultPrefix;
+        Block block = blocks.computeIfAbsent(effectivePrefix, key -> new Block());
+
+        long number;
+        synchronized (block) {
+            if (block.next >= block.end) {
+                block.next = idBlockAllocator.allocate(COUNTER_PREFIX + effectivePrefix, blockSize);
+                block.end = block.next + blockSize;
+                log.debug("Reserved SKU numbers {}-{} for prefix {}", block.next, block.end - 1, effectivePrefix);
+            }
+            number = block.next++;
+        }
+        return String.format("%s-%0" + digits + "d", effectivePrefix, number);
+    }
+
+    /**
+     * Rejects a manually entered SKU that has the generated form, such as
+     * PRD-000042, since a later generated SKU could collide with it.
+     */
+    public void checkManual(String sku) {
+        Matcher matcher = GENERATED_PATTERN.matcher(sku.trim());
+        if (matcher.matches() && matcher.group(1).length() >= digits) {
+            throw new BadRequestException("SKU " + sku + " has the form of a generated SKU; " +
+                    "use another format or leave it empty to generate one");
+        }
+    }
+
+    /**
+     * Upper-cases the prefix and checks it can start a SKU; null stays null.
+     */
+    public static String normalizePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String normalized = prefix.trim().toUpperCase(Locale.ROOT);
+        if (!PREFIX_PATTERN.matcher(normalized).matches()) {
+            throw new BadRequestException("SKU prefix must be 1 to 10 letters or digits");
+        }
+        return normalized;
+    }
+
+    private static final class Block {
+        // Guarded by the block's monitor
+        private long next;
+        private long end;
+    }
+}
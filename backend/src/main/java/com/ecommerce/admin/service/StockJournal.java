@@ -0,0 +1,120 @@
+package com.ecommerce.admin.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only local journal of stock deltas, split into numbered segments.
+ * Each record is a product id and a delta (12 bytes). A segment is sealed by
+ * {@link #rotate()} when its deltas are flushed and deleted once the flush
+ * has committed; a torn record at the end of a segment is ignored on replay.
+ */
+class StockJournal implements Closeable {
+
+    private static final String PREFIX = "stock-";
+    private static final String SUFFIX = ".journal";
+    private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    private long segment;
+    private FileChannel channel;
+
+    StockJournal(Path directory, long firstSegment, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segment = firstSegment;
+        open();
+    }
+
+    synchronized void append(long productId, int delta) throws IOException {
+        record.clear();
+        record.putLong(productId).putInt(delta).flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Seals the current segment, starts the next one and returns the number
+     * of the sealed segment.
+     */
+    synchronized long rotate() throws IOException {
+        long sealed = segment;
+        channel.force(false);
+        channel.close();
+        segment++;
+        open();
+        return sealed;
+    }
+
+    void deleteUpTo(long lastSegment) throws IOException {
+        deleteSegmentsUpTo(directory, lastSegment);
+    }
+
+    static void deleteSegmentsUpTo(Path directory, long lastSegment) throws IOException {
+        for (long number : listSegments(directory)) {
+            if (number <= lastSegment) {
+                Files.deleteIfExists(segmentPath(directory, number));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(segmentPath(directory, segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Sums the deltas of one segment per product.
+     */
+    static Map<Long, Long> readSegment(Path directory, long number) throws IOException {
+        Map<Long, Long> deltas = new HashMap<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath(directory, number)));
+        while (buffer.remaining() >= RECORD_SIZE) {
+            deltas.merge(buffer.getLong(), (long) buffer.getInt(), Long::sum);
+        }
+        return deltas;
+    }
+
+    private static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, number, SUFFIX));
+    }
+}
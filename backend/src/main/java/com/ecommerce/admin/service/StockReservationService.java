@@ -0,0 +1,268 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.dto.request.StockReservationRequest;
+import com.ecommerce.admin.dto.response.StockAvailabilityResponse;
+import com.ecommerce.admin.dto.response.StockReservationResponse;
+import com.ecommerce.admin.event.StockChangedEvent;
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.exception.ResourceNotFoundException;
+import com.ecommerce.admin.model.enums.ReservationStatus;
+import com.ecommerce.admin.util.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Temporary holds on product stock while an order is being confirmed.
+ *
+ * Holds live in memory: available stock is a per-product snapshot of the stock
+ * quantity (kept current from {@link StockChangedEvent}) minus the active holds,
+ * so checking it needs no query. Expiry is driven by a timing wheel. Confirming
+ * a hold removes the stock through {@link InventoryService}, which still
+ * enforces the non-negative rule in the database. Holds do not survive a
+ * restart, which releases them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService {
+
+    private final InventoryService inventoryService;
+
+    @Value("${app.inventory.reservations.default-ttl-seconds:900}")
+    private int defaultTtlSeconds;
+
+    @Value("${app.inventory.reservations.max-ttl-seconds:86400}")
+    private int maxTtlSeconds;
+
+    @Value("${app.inventory.reservations.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.inventory.reservations.wheel-size:512}")
+    private int wheelSize;
+
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<Long, ProductStock> stockByProduct = new ConcurrentHashMap<>();
+
+    private HashedTimingWheel<Reservation> expiryWheel;
+
+    @PostConstruct
+    void init() {
+        expiryWheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        int ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        if (ttlSeconds > maxTtlSeconds) {
+            throw new BadRequestException("TTL cannot exceed " + maxTtlSeconds + " seconds");
+        }
+
+        ProductStock stock = getStock(request.getProductId());
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlSeconds * 1000L;
+
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), request.getProductId(),
+                request.getQuantity(), request.getReference(), now, expiresAt);
+
+        synchronized (stock) {
+            int available = stock.quantity - stock.reserved;
+            if (request.getQuantity() > available) {
+                throw new BadRequestException("Insufficient available stock. Available: " + Math.max(available, 0));
+            }
+            stock.reserved += reservation.quantity;
+            reservations.put(reservation.id, reservation);
+        }
+        expiryWheel.schedule(reservation, expiresAt);
+
+        log.info("Reserved {} units of product {} until {} ({})",
+                reservation.quantity, reservation.productId, toDateTime(expiresAt), reservation.id);
+
+        return mapToReservationResponse(reservation);
+    }
+
+    public StockReservationResponse confirm(String reservationId) {
+        Reservation reservation = findReservation(reservationId);
+        ProductStock stock = stockByProduct.get(reservation.productId);
+
+        synchronized (stock) {
+            requireActive(reservation);
+            reservation.status = ReservationStatus.CONFIRMED;
+        }
+
+        try {
+            inventoryService.applyDelta(reservation.productId, -reservation.quantity);
+        } catch (RuntimeException e) {
+            synchronized (stock) {
+                if (System.currentTimeMillis() >= reservation.expiresAt) {
+                    reservation.status = ReservationStatus.EXPIRED;
+                    stock.reserved -= reservation.quantity;
+                } else {
+                    reservation.status = ReservationStatus.ACTIVE;
+                }
+            }
+            throw e;
+        }
+
+        synchronized (stock) {
+            stock.reserved -= reservation.quantity;
+        }
+
+        log.info("Confirmed reservation {} for {} units of product {}",
+                reservation.id, reservation.quantity, reservation.productId);
+
+        return mapToReservationResponse(reservation);
+    }
+
+    public StockReservationResponse release(String reservationId) {
+        Reservation reservation = findReservation(reservationId);
+        ProductStock stock = stockByProduct.get(reservation.productId);
+
+        synchronized (stock) {
+            requireActive(reservation);
+            reservation.status = ReservationStatus.RELEASED;
+            stock.reserved -= reservation.quantity;
+        }
+
+        log.info("Released reservation {} for {} units of product {}",
+                reservation.id, reservation.quantity, reservation.productId);
+
+        return mapToReservationResponse(reservation);
+    }
+
+    public StockReservationResponse getReservation(String reservationId) {
+        return mapToReservationResponse(findReservation(reservationId));
+    }
+
+    public StockAvailabilityResponse getAvailability(Long productId) {
+        ProductStock stock = getStock(productId);
+        synchronized (stock) {
+            return StockAvailabilityResponse.builder()
+                    .productId(productId)
+                    .stockQuantity(stock.quantity)
+                    .reservedQuantity(stock.reserved)
+                    .availableQuantity(Math.max(stock.quantity - stock.reserved, 0))
+                    .build();
+        }
+    }
+
+    /**
+     * Units currently held for the product; 0 when nothing was ever reserved.
+     */
+    public int reservedQuantity(Long productId) {
+        ProductStock stock = stockByProduct.get(productId);
+        if (stock == null) {
+            return 0;
+        }
+        synchronized (stock) {
+            return stock.reserved;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        ProductStock stock = stockByProduct.get(event.getProductId());
+        if (stock != null) {
+            synchronized (stock) {
+                stock.quantity = event.getNewQuantity();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.reservations.tick-ms:1000}")
+    public void expireReservations() {
+        int fired = expiryWheel.advance(System.currentTimeMillis(), this::expire);
+        if (fired > 0) {
+            log.debug("Processed {} reservation deadlines, {} still scheduled", fired, expiryWheel.size());
+        }
+    }
+
+    // Confirmed and released holds stay visible until their deadline, then are dropped
+    private void expire(Reservation reservation) {
+        ProductStock stock = stockByProduct.get(reservation.productId);
+        synchronized (stock) {
+            if (reservation.status == ReservationStatus.ACTIVE) {
+                reservation.status = ReservationStatus.EXPIRED;
+                stock.reserved -= reservation.quantity;
+                log.info("Reservation {} for {} units of product {} expired",
+                        reservation.id, reservation.quantity, reservation.productId);
+            }
+        }
+        reservations.remove(reservation.id, reservation);
+    }
+
+    private ProductStock getStock(Long productId) {
+        return stockByProduct.computeIfAbsent(productId,
+                id -> new ProductStock(inventoryService.currentQuantity(id)));
+    }
+
+    private Reservation findReservation(String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null) {
+            throw new ResourceNotFoundException("Reservation not found with id: " + reservationId);
+        }
+        return reservation;
+    }
+
+    private void requireActive(Reservation reservation) {
+        if (reservation.status != ReservationStatus.ACTIVE) {
+            throw new BadRequestException("Reservation is already " + reservation.status);
+        }
+    }
+
+    private StockReservationResponse mapToReservationResponse(Reservation reservation) {
+        return StockReservationResponse.builder()
+                .id(reservation.id)
+                .productId(reservation.productId)
+                .quantity(reservation.quantity)
+                .reference(reservation.reference)
+                .status(reservation.status)
+                .createdAt(toDateTime(reservation.createdAt))
+                .expiresAt(toDateTime(reservation.expiresAt))
+                .build();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static final class ProductStock {
+        private int quantity;
+        private int reserved;
+
+        private ProductStock(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class Reservation {
+        private final String id;
+        private final Long productId;
+        private final int quantity;
+        private final String reference;
+        private final long createdAt;
+        private final long expiresAt;
+        // Guarded by the product's ProductStock monitor
+        private volatile ReservationStatus status = ReservationStatus.ACTIVE;
+
+        private Reservation(String id, Long productId, int quantity, String reference,
+                            long createdAt, long expiresAt) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.reference = reference;
+            this.createdAt = createdAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.ecommerce.admin.service;
 
+import com.ecommerce.admin.dto.response.CursorPageResponse;
 import com.ecommerce.admin.dto.response.OrderResponse;
 import com.ecommerce.admin.dto.response.PageResponse;
 import com.ecommerce.admin.dto.response.UserResponse;
 import com.ecommerce.admin.exception.ResourceNotFoundException;
-import com.ecommerce.admin.model.Order;
+import com.ecommerce.admin.model.CustomerStats;
 import com.ecommerce.admin.model.User;
+import com.ecommerce.admin.repository.ArchivedOrderRepository;
 import com.ecommerce.admin.repository.OrderRepository;
 import com.ecommerce.admin.repository.UserRepository;
+import com.ecommerce.admin.repository.projection.OrderSummary;
+import com.ecommerce.admin.util.KeysetCursor;
+import com.ecommerce.admin.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,8 +22,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -26,8 +31,17 @@ import java.util.List;
 @Slf4j
 public class UserService {
     
+    // Keyset order of the order history: newest first, id breaking ties
+    private static final Comparator<OrderSummary> NEWEST_FIRST = Comparator
+            .comparing(OrderSummary::getCreatedAt)
+            .thenComparing(OrderSummary::getId)
+            .reversed();
+    
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final CustomerStatsService customerStatsService;
     
     @Transactional(readOnly = true)
     public PageResponse<UserResponse> getUsers(
@@ -82,21 +96,63 @@ public class UserService {
     }
     
     @Transactional(readOnly = true)
-    public List<OrderResponse> getUserOrders(Long userId) {
+    public CursorPageResponse<OrderResponse> getUserOrders(Long userId, String cursor, int size) {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
         
-        List<Order> orders = orderRepository.findByUserId(userId);
+        ValidationUtil.validatePageSize(size);
+        
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        Pageable limit = PageRequest.of(0, size + 1);
+        KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        List<OrderSummary> summaries = position == null
+                ? orderRepository.findOrderSummariesByUserId(userId, limit)
+                : orderRepository.findOrderSummariesByUserIdBefore(
+                        userId, position.getCreatedAt(), position.getId(), limit);
+        
+        // Archived orders can only belong on this page when the hot rows run out or reach back
+        // into the archived range; then the same keyset page is read from orders_archive and merged
+        boolean pageFull = summaries.size() > size;
+        if (orderArchiveService.hasArchivedOrders() &&
+            (!pageFull || orderArchiveService.covers(summaries.get(size).getCreatedAt()))) {
+            List<OrderSummary> archived = position == null
+                    ? archivedOrderRepository.findOrderSummariesByUserId(userId, limit)
+                    : archivedOrderRepository.findOrderSummariesByUserIdBefore(
+                            userId, position.getCreatedAt(), position.getId(), limit);
+            if (!archived.isEmpty()) {
+                List<OrderSummary> merged = new ArrayList<>(summaries.size() + archived.size());
+                merged.addAll(summaries);
+                merged.addAll(archived);
+                merged.sort(NEWEST_FIRST);
+                summaries = merged.size() > size + 1 ? merged.subList(0, size + 1) : merged;
+            }
+        }
+        
+        boolean hasMore = summaries.size() > size;
+        if (hasMore) {
+            summaries = summaries.subList(0, size);
+        }
         
         List<OrderResponse> responses = new ArrayList<>();
-        for (Order order : orders) {
-            responses.add(mapToOrderResponse(order));
+        for (OrderSummary summary : summaries) {
+            responses.add(mapToOrderResponse(summary));
         }
         
-        log.info("Retrieved {} orders for user id: {}", responses.size(), userId);
+        String nextCursor = null;
+        if (hasMore) {
+            OrderSummary last = summaries.get(summaries.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        
+        log.info("Retrieved {} orders for user id: {}, hasMore={}", responses.size(), userId, hasMore);
         
-        return responses;
+        return CursorPageResponse.<OrderResponse>builder()
+                .content(responses)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .pageSize(size)
+                .build();
     }
     
     private UserResponse mapToUserResponse(User user, boolean includeStats) {
@@ -112,37 +168,34 @@ public class UserService {
                 .createdAt(user.getCreatedAt());
         
         if (includeStats) {
-            List<Order> userOrders = orderRepository.findByUserId(user.getId());
-            Long totalOrders = (long) userOrders.size();
-            
-            Long totalSpent = userOrders.stream()
-                    .map(Order::getTotal)
-                    .map(BigDecimal::longValue)
-                    .reduce(0L, Long::sum);
+            CustomerStats stats = customerStatsService.getStats(user.getId());
             
-            builder.totalOrders(totalOrders);
-            builder.totalSpent(totalSpent);
+            builder.totalOrders(stats.getOrderCount());
+            builder.totalSpent(stats.getTotalSpent());
+            builder.averageOrderValue(stats.getAverageOrderValue());
+            builder.firstOrderDate(stats.getFirstOrderDate());
+            builder.lastOrderDate(stats.getLastOrderDate());
         }
         
         return builder.build();
     }
     
-    private OrderResponse mapToOrderResponse(Order order) {
+    private OrderResponse mapToOrderResponse(OrderSummary summary) {
         return OrderResponse.builder()
-                .id(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .status(order.getStatus())
-                .paymentMethod(order.getPaymentMethod())
-                .customerName(order.getUser().getFullName())
-                .customerEmail(order.getUser().getEmail())
-                .subtotal(order.getSubtotal())
-                .shipping(order.getShipping())
-                .discount(order.getDiscount())
-                .total(order.getTotal())
-                .itemCount(order.getItems() != null ? order.getItems().size() : 0)
-                .orderDate(order.getOrderDate())
-                .deliveredDate(order.getDeliveredDate())
-                .createdAt(order.getCreatedAt())
+                .id(summary.getId())
+                .orderNumber(summary.getOrderNumber())
+                .status(summary.getStatus())
+                .paymentMethod(summary.getPaymentMethod())
+                .customerName(summary.getCustomerName())
+                .customerEmail(summary.getCustomerEmail())
+                .subtotal(summary.getSubtotal())
+                .shipping(summary.getShipping())
+                .discount(summary.getDiscount())
+                .total(summary.getTotal())
+                .itemCount(summary.getItemCount() != null ? summary.getItemCount().intValue() : 0)
+                .orderDate(summary.getOrderDate())
+                .deliveredDate(summary.getDeliveredDate())
+                .createdAt(summary.getCreatedAt())
                 .build();
     }
 }
@@ -0,0 +1,361 @@
+package com.ecommerce.admin.service;
+
+import com.ecommerce.admin.exception.BadRequestException;
+import com.ecommerce.admin.exception.ResourceNotFoundException;
+import com.ecommerce.admin.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind mode for stock (app.inventory.write-behind.enabled).
+ *
+ * While enabled, the in-memory counter of a product is the source of truth for
+ * its stock: adjustments change the counter, are appended to the local
+ * {@link StockJournal} and are coalesced per product until the next flush
+ * writes them to products.stock_quantity. Each flush seals a journal segment
+ * and records it in stock_journal_checkpoints in the same transaction, so on
+ * startup only segments newer than the checkpoint are replayed.
+ *
+ * The counters are only correct while a single instance adjusts stock, so
+ * the mode is single-node: startup fails unless this instance takes a MySQL
+ * named lock, held on a dedicated connection for its lifetime, and
+ * adjustments are refused if that lock is ever lost. Inside a transaction,
+ * removals are applied at once and given back if it rolls back; additions
+ * are applied once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindStockStore {
+
+    private static final String APPLY_DELTA =
+            "UPDATE products SET " +
+            "in_stock = (COALESCE(stock_quantity, 0) + ?) > 0, " +
+            "stock_quantity = COALESCE(stock_quantity, 0) + ?, " +
+            "updated_at = NOW() " +
+            "WHERE id = ?";
+
+    private static final String SAVE_CHECKPOINT =
+            "INSERT INTO stock_journal_checkpoints (node_id, last_segment, updated_at) VALUES (?, ?, NOW()) " +
+            "ON DUPLICATE KEY UPDATE last_segment = VALUES(last_segment), updated_at = NOW()";
+
+    private static final String NODE_LOCK = "stock_write_behind";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.inventory.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.inventory.write-behind.journal-dir:./data/stock-journal}")
+    private String journalDir;
+
+    @Value("${app.inventory.write-behind.node-id:local}")
+    private String nodeId;
+
+    @Value("${app.inventory.write-behind.fsync:true}")
+    private boolean fsync;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    // Adjustments hold the read lock; a flush takes the write lock only to
+    // snapshot pending deltas and seal the journal segment they were logged in
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+
+    private StockJournal journal;
+
+    // Session holding NODE_LOCK; the lock is released by MySQL if this session ends
+    private Connection lockConnection;
+    private volatile boolean lockLost;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        acquireNodeLock();
+
+        Path directory = Paths.get(journalDir);
+        Files.createDirectories(directory);
+
+        long checkpoint = loadCheckpoint();
+        long lastSegment = recover(directory, checkpoint);
+
+        journal = new StockJournal(directory, lastSegment + 1, fsync);
+        log.info("Write-behind stock enabled, journal {} starting at segment {}", directory, lastSegment + 1);
+    }
+
+    /**
+     * Applies the delta to the live counter and returns the new quantity.
+     * Within a transaction a removal is given back if it rolls back, and an
+     * addition is only applied once it commits (the quantity it would give is
+     * returned).
+     */
+    public int apply(Long productId, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return applyNow(productId, delta);
+        }
+
+        if (delta > 0) {
+            int expected = currentQuantity(productId) + delta;
+            checkNodeLock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(productId, delta);
+                }
+            });
+            return expected;
+        }
+
+        int updated = applyNow(productId, delta);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    applyNow(productId, -delta);
+                }
+            }
+        });
+        return updated;
+    }
+
+    private int applyNow(Long productId, int delta) {
+        checkNodeLock();
+        Counter counter = counters.computeIfAbsent(productId, this::loadCounter);
+
+        snapshotLock.readLock().lock();
+        try {
+            long updated;
+            while (true) {
+                long current = counter.live.get();
+                updated = current + delta;
+                if (updated < 0) {
+                    throw new BadRequestException("Cannot remove more stock than available. Current stock: " + current);
+                }
+                if (counter.live.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+
+            try {
+                journal.append(productId, delta);
+            } catch (IOException e) {
+                counter.live.addAndGet(-delta);
+                throw new UncheckedIOException("Could not journal stock change for product " + productId, e);
+            }
+            counter.pending.add(delta);
+
+            return (int) updated;
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Live quantity of a product changed since startup, or null when the
+     * database value is current.
+     */
+    public Integer liveQuantity(Long productId) {
+        Counter counter = counters.get(productId);
+        return counter != null ? (int) counter.live.get() : null;
+    }
+
+    public int currentQuantity(Long productId) {
+        return (int) counters.computeIfAbsent(productId, this::loadCounter).live.get();
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.write-behind.flush-interval-ms:500}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<Long, Long> deltas = new HashMap<>();
+        long sealedSegment;
+
+        snapshotLock.writeLock().lock();
+        try {
+            counters.forEach((productId, counter) -> {
+                long taken = counter.pending.sum();
+                if (taken != 0) {
+                    counter.pending.add(-taken);
+                    deltas.put(productId, taken);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            sealedSegment = journal.rotate();
+        } catch (IOException e) {
+            deltas.forEach((productId, taken) -> counters.get(productId).pending.add(taken));
+            log.error("Could not seal stock journal segment, flush postponed", e);
+            return;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+
+        try {
+            writeDeltas(deltas, sealedSegment);
+            journal.deleteUpTo(sealedSegment);
+            log.debug("Flushed stock deltas for {} products (journal segment {})", deltas.size(), sealedSegment);
+        } catch (IOException e) {
+            // Already committed; the checkpoint keeps the segment from being replayed
+            log.warn("Could not delete flushed stock journal segment {}", sealedSegment, e);
+        } catch (RuntimeException e) {
+            // Retried with the next flush, whose checkpoint also covers this segment
+            deltas.forEach((productId, taken) -> counters.get(productId).pending.add(taken));
+            log.error("Failed to flush stock deltas for {} products", deltas.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.write-behind.lock-check-ms:30000}")
+    public void verifyNodeLock() {
+        if (!enabled || lockLost) {
+            return;
+        }
+        boolean held;
+        try (PreparedStatement ps = lockConnection.prepareStatement("SELECT IS_USED_LOCK(?) = CONNECTION_ID()")) {
+            ps.setString(1, NODE_LOCK);
+            try (ResultSet rs = ps.executeQuery()) {
+                held = rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            held = false;
+        }
+        if (!held) {
+            lockLost = true;
+            log.error("Lost write-behind stock lock {}; stock adjustments are refused until restart", NODE_LOCK);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        journal.close();
+        try (Connection connection = lockConnection) {
+            try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                ps.setString(1, NODE_LOCK);
+                ps.execute();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not release write-behind stock lock {}", NODE_LOCK, e);
+        }
+    }
+
+    private void acquireNodeLock() {
+        try {
+            lockConnection = jdbcTemplate.getDataSource().getConnection();
+            try (PreparedStatement ps = lockConnection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                ps.setString(1, NODE_LOCK);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) == 1) {
+                        return;
+                    }
+                }
+            }
+            lockConnection.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not take the write-behind stock lock", e);
+        }
+        throw new IllegalStateException("Write-behind stock is single-node only, and another instance holds lock " +
+                NODE_LOCK + "; disable app.inventory.write-behind.enabled on all but one instance");
+    }
+
+    private void checkNodeLock() {
+        if (lockLost) {
+            throw new IllegalStateException("Write-behind stock lock was lost; stock cannot be adjusted on this instance");
+        }
+    }
+
+    private long recover(Path directory, long checkpoint) throws IOException {
+        Map<Long, Long> replay = new HashMap<>();
+        long lastSegment = checkpoint;
+
+        for (long segment : StockJournal.listSegments(directory)) {
+            if (segment > checkpoint) {
+                StockJournal.readSegment(directory, segment).forEach((productId, delta) ->
+                        replay.merge(productId, delta, Long::sum));
+            }
+            lastSegment = Math.max(lastSegment, segment);
+        }
+
+        if (!replay.isEmpty()) {
+            writeDeltas(replay, lastSegment);
+            log.info("Replayed stock journal up to segment {} for {} products", lastSegment, replay.size());
+        }
+
+        StockJournal.deleteSegmentsUpTo(directory, lastSegment);
+        return lastSegment;
+    }
+
+    private void writeDeltas(Map<Long, Long> deltas, long segment) {
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> batchArgs.add(new Object[] { delta, delta, productId }));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(APPLY_DELTA, batchArgs);
+            jdbcTemplate.update(SAVE_CHECKPOINT, nodeId, segment);
+        });
+    }
+
+    private long loadCheckpoint() {
+        List<Long> checkpoint = jdbcTemplate.queryForList(
+                "SELECT last_segment FROM stock_journal_checkpoints WHERE node_id = ?", Long.class, nodeId);
+        return checkpoint.isEmpty() ? 0 : checkpoint.get(0);
+    }
+
+    private Counter loadCounter(Long productId) {
+        Integer quantity = productRepository.findStockQuantity(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        return new Counter(quantity != null ? quantity : 0);
+    }
+
+    private static final class Counter {
+        // Live stock, changed with CAS so it can never go negative
+        private final AtomicLong live;
+        // Deltas not yet written to the database, striped to absorb hot SKUs
+        private final LongAdder pending = new LongAdder();
+
+        private Counter(long initial) {
+            this.live = new AtomicLong(initial);
+        }
+    }
+}
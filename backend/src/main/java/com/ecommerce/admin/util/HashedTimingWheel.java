@@ -0,0 +1,97 @@
+package com.ecommerce.admin.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of timeouts. Scheduling is O(1) and
+ * advancing the wheel only visits the buckets of the ticks that elapsed, so
+ * expiring entries never scans everything that is pending.
+ *
+ * The wheel has no thread of its own; the owner calls {@link #advance} on a
+ * schedule. Cancellation is left to the owner: an entry whose work is already
+ * done is simply ignored when it fires.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<List<Timeout<T>>> buckets;
+
+    // Next tick to be processed
+    private long currentTick;
+    private int size;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = capacity - 1;
+        this.buckets = new ArrayList<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    public synchronized void schedule(T value, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick);
+        buckets.get((int) (deadlineTick & mask)).add(new Timeout<>(deadlineTick, value));
+        size++;
+    }
+
+    /**
+     * Fires every entry whose deadline is at or before the given instant and
+     * returns how many fired. Callbacks run outside the wheel's lock.
+     */
+    public int advance(long nowMillis, Consumer<T> onExpired) {
+        List<T> expired = new ArrayList<>();
+
+        synchronized (this) {
+            long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+            if (targetTick < currentTick) {
+                return 0;
+            }
+
+            // After a long pause every bucket is visited once instead of once per elapsed tick
+            long ticks = Math.min(targetTick - currentTick + 1, buckets.size());
+            for (long tick = currentTick; tick < currentTick + ticks; tick++) {
+                List<Timeout<T>> bucket = buckets.get((int) (tick & mask));
+                int i = 0;
+                while (i < bucket.size()) {
+                    Timeout<T> timeout = bucket.get(i);
+                    if (timeout.deadlineTick <= targetTick) {
+                        int last = bucket.size() - 1;
+                        bucket.set(i, bucket.get(last));
+                        bucket.remove(last);
+                        expired.add(timeout.value);
+                    } else {
+                        i++;
+                    }
+                }
+            }
+            currentTick = targetTick + 1;
+            size -= expired.size();
+        }
+
+        for (T value : expired) {
+            onExpired.accept(value);
+        }
+        return expired.size();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private record Timeout<T>(long deadlineTick, T value) {
+    }
+}
@@ -90,10 +90,20 @@ export interface Category {
   description?: string;
   image?: string;
   itemCount?: string;
+  isActive?: boolean;
   createdAt?: string;
   updatedAt?: string;
 }
 
+export interface CategoryWithCounts {
+  id: number;
+  name: string;
+  description?: string;
+  image?: string;
+  productCount: number;
+  activeProductCount: number;
+}
+
 export interface ApiResponse<T = any> {
   success: boolean;
   message: string;
@@ -112,6 +122,29 @@ export interface PageResponse<T> {
   last?: boolean;
 }
 
+export interface ProductFacets {
+  categories: { categoryId: number; categoryName: string; count: number }[];
+  inStock: number;
+  outOfStock: number;
+  total: number;
+}
+
+export interface FacetedProducts {
+  products: PageResponse<Product>;
+  facets: ProductFacets;
+}
+
+// Mutations that the backend deduplicates by Idempotency-Key. Pass the same
+// key when retrying one user action so it is applied only once.
+export const newIdempotencyKey = (): string =>
+  typeof crypto !== 'undefined' && 'randomUUID' in crypto
+    ? crypto.randomUUID()
+    : `${Date.now()}-${Math.random().toString(36).slice(2)}`;
+
+const idempotencyConfig = (key: string) => ({
+  headers: { 'Idempotency-Key': key },
+});
+
 // API functions
 export const adminApi = {
   // Auth
@@ -184,19 +217,28 @@ export const adminApi = {
     }
   },
 
-  updateOrderStatus: async (id: string | number, status: string): Promise<Order> => {
+  updateOrderStatus: async (
+    id: string | number,
+    status: string,
+    idempotencyKey: string = newIdempotencyKey()
+  ): Promise<Order> => {
     const response = await apiClient.put<ApiResponse<Order>>(`/admin/orders/${id}/status`, {
       status,
       notes: `Order status updated to ${status}`,
-    });
+    }, idempotencyConfig(idempotencyKey));
     return response.data.data;
   },
 
-  processRefund: async (id: string | number, amount: number, reason: string): Promise<void> => {
+  processRefund: async (
+    id: string | number,
+    amount: number,
+    reason: string,
+    idempotencyKey: string = newIdempotencyKey()
+  ): Promise<void> => {
     const response = await apiClient.post<ApiResponse<void>>(`/admin/orders/${id}/refund`, {
       refundAmount: amount,
       reason,
-    });
+    }, idempotencyConfig(idempotencyKey));
     return response.data.data;
   },
 
@@ -231,6 +273,25 @@ export const adminApi = {
     return response.data.data;
   },
 
+  getProductsWithFacets: async (filters?: {
+    categoryId?: number;
+    search?: string;
+    inStock?: boolean;
+    page?: number;
+    size?: number;
+  }): Promise<FacetedProducts> => {
+    const response = await apiClient.get<ApiResponse<FacetedProducts>>('/admin/products/faceted', {
+      params: {
+        categoryId: filters?.categoryId,
+        search: filters?.search,
+        inStock: filters?.inStock,
+        page: filters?.page || 0,
+        size: filters?.size || 50,
+      },
+    });
+    return response.data.data;
+  },
+
   getProduct: async (id: string | number): Promise<Product | null> => {
     try {
       const response = await apiClient.get<ApiResponse<Product>>(`/admin/products/${id}`);
@@ -279,17 +340,34 @@ export const adminApi = {
     await apiClient.delete(`/admin/products/${id}`);
   },
 
-  adjustStock: async (id: string | number, quantity: number, type: 'ADD' | 'SUBTRACT'): Promise<Product> => {
+  adjustStock: async (
+    id: string | number,
+    quantity: number,
+    type: 'ADD' | 'SUBTRACT',
+    idempotencyKey: string = newIdempotencyKey()
+  ): Promise<Product> => {
     const response = await apiClient.put<ApiResponse<Product>>(`/admin/products/${id}/stock`, {
       quantity,
       type,
-    });
+    }, idempotencyConfig(idempotencyKey));
     return response.data.data;
   },
 
   // Coupons
-  getCoupons: async (): Promise<Coupon[]> => {
-    const response = await apiClient.get<ApiResponse<Coupon[]>>('/admin/coupons');
+  getCoupons: async (filters?: {
+    search?: string;
+    isActive?: boolean;
+    page?: number;
+    limit?: number;
+  }): Promise<PageResponse<Coupon>> => {
+    const response = await apiClient.get<ApiResponse<PageResponse<Coupon>>>('/admin/coupons', {
+      params: {
+        search: filters?.search,
+        isActive: filters?.isActive,
+        page: filters?.page || 0,
+        size: filters?.limit || 20,
+      },
+    });
     return response.data.data;
   },
 
@@ -366,6 +444,11 @@ export const adminApi = {
     return response.data.data || response.data;
   },
 
+  getCategoriesWithCounts: async (): Promise<CategoryWithCounts[]> => {
+    const response = await apiClient.get<ApiResponse<CategoryWithCounts[]>>('/admin/categories/with-counts');
+    return response.data.data;
+  },
+
   getCategory: async (id: string | number): Promise<Category | null> => {
     try {
       const response = await apiClient.get<ApiResponse<Category>>(`/admin/categories/${id}`);
@@ -1,9 +1,10 @@
 import React, { useState, useEffect } from 'react';
 import { AdminLayout } from '../components/admin/layout/AdminLayout';
 import { DataTable } from '../components/admin/shared/DataTable';
+import { FilterPanel } from '../components/admin/shared/FilterPanel';
 import { ConfirmDialog } from '../components/admin/shared/ConfirmDialog';
 import { adminApi, Coupon } from '../api/adminApi';
-import { Plus, Edit, Trash2 } from 'lucide-react';
+import { Plus, Edit, Trash2, ChevronLeft, ChevronRight } from 'lucide-react';
 import { Button } from '../components/ui/button';
 import { Badge } from '../components/ui/badge';
 import { Progress } from '../components/ui/progress';
@@ -25,8 +26,18 @@ import {
 } from '../components/ui/select';
 import { Switch } from '../components/ui/switch';
 
+const PAGE_SIZES = ['10', '20', '50', '100'];
+
 export const CouponList: React.FC = () => {
   const [coupons, setCoupons] = useState<Coupon[]>([]);
+  const [filters, setFilters] = useState({
+    status: 'all',
+    search: '',
+  });
+  const [page, setPage] = useState(0);
+  const [pageSize, setPageSize] = useState(20);
+  const [totalPages, setTotalPages] = useState(0);
+  const [totalElements, setTotalElements] = useState(0);
   const [isLoading, setIsLoading] = useState(true);
   const [deleteId, setDeleteId] = useState<string | null>(null);
   const [showForm, setShowForm] = useState(false);
@@ -34,12 +45,20 @@ export const CouponList: React.FC = () => {
 
   useEffect(() => {
     loadCoupons();
-  }, []);
+  }, [filters, page, pageSize]);
 
   const loadCoupons = async () => {
     try {
-      const data = await adminApi.getCoupons();
-      setCoupons(data);
+      setIsLoading(true);
+      const data = await adminApi.getCoupons({
+        search: filters.search || undefined,
+        isActive: filters.status === 'all' ? undefined : filters.status === 'active',
+        page,
+        limit: pageSize,
+      });
+      setCoupons(data.content || []);
+      setTotalPages(data.totalPages);
+      setTotalElements(data.totalElements);
     } catch (error) {
       toast('Failed to load coupons');
     } finally {
@@ -47,6 +66,16 @@ export const CouponList: React.FC = () => {
     }
   };
 
+  const handleFilterChange = (name: string, value: string) => {
+    setFilters((prev) => ({ ...prev, [name]: value }));
+    setPage(0);
+  };
+
+  const handleReset = () => {
+    setFilters({ status: 'all', search: '' });
+    setPage(0);
+  };
+
   const handleDelete = async () => {
     if (!deleteId) return;
     try {
@@ -144,6 +173,26 @@ export const CouponList: React.FC = () => {
     },
   ];
 
+  const filterConfig = [
+    {
+      type: 'text' as const,
+      name: 'search',
+      label: 'Search',
+      placeholder: 'Search by code...',
+    },
+    {
+      type: 'select' as const,
+      name: 'status',
+      label: 'Status',
+      placeholder: 'All Statuses',
+      options: [
+        { value: 'all', label: 'All Statuses' },
+        { value: 'active', label: 'Active' },
+        { value: 'inactive', label: 'Inactive' },
+      ],
+    },
+  ];
+
   return (
     <AdminLayout>
       <div className="space-y-6">
@@ -160,11 +209,63 @@ export const CouponList: React.FC = () => {
           </Button>
         </div>
 
+        <FilterPanel
+          filters={filterConfig}
+          values={filters}
+          onChange={handleFilterChange}
+          onReset={handleReset}
+        />
+
         {isLoading ? (
           <div className="text-center py-8">Loading coupons...</div>
         ) : (
           <DataTable data={coupons} columns={columns} />
         )}
+
+        <div className="flex items-center justify-between">
+          <div className="text-sm text-gray-500">
+            {totalElements} coupons
+          </div>
+          <div className="flex items-center gap-2">
+            <Select
+              value={String(pageSize)}
+              onValueChange={(value) => {
+                setPageSize(Number(value));
+                setPage(0);
+              }}
+            >
+              <SelectTrigger className="w-28">
+                <SelectValue />
+              </SelectTrigger>
+              <SelectContent>
+                {PAGE_SIZES.map((size) => (
+                  <SelectItem key={size} value={size}>
+                    {size} / page
+                  </SelectItem>
+                ))}
+              </SelectContent>
+            </Select>
+            <Button
+              size="sm"
+              variant="outline"
+              disabled={page === 0 || isLoading}
+              onClick={() => setPage((prev) => prev - 1)}
+            >
+              <ChevronLeft className="w-4 h-4" />
+            </Button>
+            <span className="text-sm">
+              Page {totalPages === 0 ? 0 : page + 1} of {totalPages}
+            </span>
+            <Button
+              size="sm"
+              variant="outline"
+              disabled={page + 1 >= totalPages || isLoading}
+              onClick={() => setPage((prev) => prev + 1)}
+            >
+              <ChevronRight className="w-4 h-4" />
+            </Button>
+          </div>
+        </div>
       </div>
 
       <CouponFormDialog